@@ -0,0 +1,282 @@
+package main;
+
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionResponse;
+import main.model.repository.DaoQuestion;
+import main.model.repository.DaoResponse;
+import main.model.repository.DaoTopic;
+import main.model.repository.ResponseDictionary;
+import main.util.ConnectionPool;
+import main.util.DatabaseConnector;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Warms the application up before it reports readiness. After the configuration is loaded,
+ * opens the minimum pool connections (in parallel), then resolves all Topic-Ids and queries the hot topics once
+ * in parallel on the pooled connections, which loads their rows into the Database buffer pool and their Responses
+ * into the shared ResponseDictionary (the Questions themselves are not kept),
+ * then optionally runs the hot DAO paths repeatedly so they are JIT-compiled before the first request.
+ * Configured in application.config: STARTUP_MIN_CONNECTIONS, STARTUP_HOT_TOPICS (comma-separated),
+ * STARTUP_WARMUP_ITERATIONS (0 disables the warm-up).
+ */
+public class ApplicationStartup {
+    private static final Logger logger = Logger.getLogger(ApplicationStartup.class.getName());
+    private static final int WARMUP_QUESTIONS = 10;
+
+    private final ConnectionPool connectionPool;
+    private final ResponseDictionary responseDictionary = new ResponseDictionary(100_000);
+    private final CompletableFuture<StartupReport> readiness = new CompletableFuture<>();
+    private volatile Map<Topic, Integer> topicIds = Map.of();
+
+    public record StartupReport(
+            Duration configuration,
+            Duration connections,
+            Duration topics,
+            Duration hotTopics,
+            Duration warmUp,
+            Duration total
+    ){ }
+
+    public record StartupSettings(
+            int minConnections,
+            List<Topic> hotTopics,
+            int warmUpIterations
+    ){
+        /**
+         * Reads the settings from application.config, loading it on first use.
+         */
+        public static StartupSettings fromConfiguration() {
+            DatabaseConnector.getInstance();
+            return new StartupSettings(
+                    Integer.parseInt(DatabaseConnector.getProperty("STARTUP_MIN_CONNECTIONS", "2")),
+                    Arrays.stream(DatabaseConnector.getProperty("STARTUP_HOT_TOPICS", "").split(","))
+                            .map(String::trim)
+                            .filter(topic -> !topic.isEmpty())
+                            .map(topic -> Topic.valueOf(topic.toUpperCase()))
+                            .toList(),
+                    Integer.parseInt(DatabaseConnector.getProperty("STARTUP_WARMUP_ITERATIONS", "0"))
+            );
+        }
+    }
+
+    public ApplicationStartup() {
+        this(new ConnectionPool());
+    }
+
+    /**
+     * @param connectionPool Pool to fill and to borrow the startup connections from
+     */
+    public ApplicationStartup(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * Runs the startup phases with the settings of application.config on background threads.
+     * @return Future completed with the StartupReport once the application is warm
+     */
+    public CompletableFuture<StartupReport> start() {
+        return start(StartupSettings::fromConfiguration);
+    }
+
+    /**
+     * Runs the startup phases with the specified settings on background threads.
+     * @param settings Settings of the startup
+     * @return Future completed with the StartupReport once the application is warm
+     */
+    public CompletableFuture<StartupReport> start(StartupSettings settings) {
+        return start(() -> settings);
+    }
+
+    private CompletableFuture<StartupReport> start(Supplier<StartupSettings> settingsSource) {
+        long start = System.nanoTime();
+        //The coordinator only waits, it must not occupy one of the phase threads
+        Thread coordinator = new Thread(() -> coordinate(settingsSource, start), "application-startup");
+        coordinator.setDaemon(true);
+        coordinator.start();
+        return readiness;
+    }
+
+    private void coordinate(Supplier<StartupSettings> settingsSource, long start) {
+        try {
+            StartupSettings settings = settingsSource.get();
+            StartupReport report = runPhases(settings, since(start), start);
+            logger.info("Application ready: " + report);
+            readiness.complete(report);
+        } catch (SQLException | RuntimeException e) {
+            //Report the failed phase, not the CompletionException of the future it ran in
+            Throwable failure = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            logger.severe("Application startup failed: " + failure.getMessage());
+            readiness.completeExceptionally(failure);
+        }
+    }
+
+    private StartupReport runPhases(StartupSettings settings, Duration configuration, long start) throws SQLException {
+        //One thread per connection to open, afterwards Topic-Ids and hot topics are queried in parallel
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, settings.minConnections()), runnable -> {
+            Thread thread = new Thread(runnable, "application-startup-phase");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            //Borrowing phases start once the pool is filled, otherwise they would open connections of their own
+            long connectionsStart = System.nanoTime();
+            connectionPool.fill(settings.minConnections(), executor);
+            Duration connections = since(connectionsStart);
+
+            List<Long> warmUpQuestionIds = new ArrayList<>();
+            CompletableFuture<Duration> topics = timedAsync(this::preloadTopicIds, executor);
+            CompletableFuture<Duration> hotTopics = timedAsync(
+                    () -> warmUpQuestionIds.addAll(queryHotTopics(settings.hotTopics())), executor);
+            CompletableFuture<Duration> warmUp = hotTopics.thenCombine(topics, (hotTopicsDuration, topicsDuration) -> null)
+                    .thenComposeAsync(ignore -> timedAsync(() -> warmUp(settings.hotTopics(), warmUpQuestionIds, settings.warmUpIterations()), executor), executor);
+
+            return new StartupReport(
+                    configuration,
+                    connections,
+                    topics.join(),
+                    hotTopics.join(),
+                    warmUp.join(),
+                    since(start)
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public boolean isReady() {
+        return readiness.isDone() && !readiness.isCompletedExceptionally();
+    }
+
+    /**
+     * Blocks until the startup finished.
+     * @param timeout Maximum time to wait
+     * @return StartupReport of the finished startup
+     * @throws TimeoutException If the application isn't ready within the timeout
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public StartupReport awaitReady(Duration timeout) throws TimeoutException, InterruptedException {
+        try {
+            return readiness.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Application startup failed", e.getCause());
+        }
+    }
+
+    /**
+     * @return Pool holding the connections opened during startup
+     */
+    public ConnectionPool connectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * @return Dictionary holding the Responses of the hot topics, to be shared with the DaoQuestion instances
+     */
+    public ResponseDictionary responseDictionary() {
+        return responseDictionary;
+    }
+
+    /**
+     * @return Topic-Ids resolved during startup, to create DaoTopic instances without look-ups
+     */
+    public Map<Topic, Integer> topicIds() {
+        return topicIds;
+    }
+
+    /**
+     * Creates a DaoQuestion on the connection using the state preloaded during startup.
+     * @param connection Connection to the primary database, e.g. borrowed from connectionPool()
+     * @return DaoQuestion sharing topic Ids and Responses of the startup
+     */
+    public DaoQuestion createDaoQuestion(Connection connection) {
+        DaoQuestion daoQuestion = new DaoQuestion(connection, new DaoTopic(connection, topicIds), new DaoResponse(connection));
+        daoQuestion.setResponseDictionary(responseDictionary);
+        return daoQuestion;
+    }
+
+    private void preloadTopicIds() throws SQLException {
+        Connection connection = connectionPool.borrow();
+        try {
+            topicIds = new DaoTopic(connection).preloadTopicIds();
+        } finally {
+            connectionPool.release(connection);
+        }
+    }
+
+    /**
+     * Queries the Questions of the hot topics once, so their rows are cached by the Database
+     * and their Responses by the ResponseDictionary. The Questions are not kept.
+     * @return Ids of up to WARMUP_QUESTIONS of the Questions, to be looked up during the warm-up
+     */
+    private List<Long> queryHotTopics(List<Topic> hotTopics) throws SQLException {
+        List<Long> warmUpQuestionIds = new ArrayList<>();
+        if (hotTopics.isEmpty()) return warmUpQuestionIds;
+
+        Connection connection = connectionPool.borrow();
+        try {
+            DaoQuestion daoQuestion = createDaoQuestion(connection);
+            for (Topic topic : hotTopics) {
+                for (QuestionResponse question : daoQuestion.searchQuestionByTopic(topic)) {
+                    if (warmUpQuestionIds.size() < WARMUP_QUESTIONS) warmUpQuestionIds.add(question.id());
+                }
+            }
+        } finally {
+            connectionPool.release(connection);
+        }
+        return warmUpQuestionIds;
+    }
+
+    /**
+     * Runs the read paths of the DAOs repeatedly, so they are compiled before real requests arrive.
+     */
+    private void warmUp(List<Topic> hotTopics, List<Long> warmUpQuestionIds, int iterations) throws SQLException {
+        if (iterations <= 0) return;
+
+        Connection connection = connectionPool.borrow();
+        try {
+            DaoQuestion daoQuestion = createDaoQuestion(connection);
+            for (int i = 0; i < iterations; i++) {
+                warmUpQuestionIds.forEach(daoQuestion::findQuestionById);
+                if (!hotTopics.isEmpty()) daoQuestion.searchQuestionByTopic(hotTopics.get(i % hotTopics.size()));
+            }
+        } finally {
+            connectionPool.release(connection);
+        }
+    }
+
+    private interface StartupPhase {
+        void run() throws SQLException;
+    }
+
+    private static CompletableFuture<Duration> timedAsync(StartupPhase phase, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                phase.run();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+            return since(start);
+        }, executor);
+    }
+
+    private static Duration since(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+}
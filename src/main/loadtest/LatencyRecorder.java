@@ -0,0 +1,71 @@
+package main.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram in microseconds with log-linear buckets:
+ * exact below 128 microseconds, above that 64 buckets per power of two (below 1.6 % relative error).
+ * Recording costs a few bit operations and one atomic increment, independent of the amount of samples.
+ */
+public class LatencyRecorder {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(indexOf(Long.MAX_VALUE) + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * @param nanos Latency of one operation
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        buckets.incrementAndGet(indexOf(micros));
+        count.incrementAndGet();
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public Duration max() {
+        return Duration.ofNanos(maxMicros.get() * 1_000);
+    }
+
+    /**
+     * @param percentile Percentile between 0 and 100, e.g. 99.9
+     * @return Highest latency within the bucket the percentile falls into, Duration.ZERO if nothing was recorded
+     */
+    public Duration percentile(double percentile) {
+        long total = count.get();
+        if (total == 0) return Duration.ZERO;
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int index = 0; index < buckets.length(); index++) {
+            seen += buckets.get(index);
+            if (seen >= target) {
+                return Duration.ofNanos(Math.min(highestValueOf(index), maxMicros.get()) * 1_000);
+            }
+        }
+        return max();
+    }
+
+    private static int indexOf(long micros) {
+        if (micros < LINEAR_LIMIT) return (int) micros;
+        //Keep the SUB_BUCKET_BITS + 1 highest bits, the shift selects the power of two
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS * shift + (int) (micros >>> shift);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < LINEAR_LIMIT) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
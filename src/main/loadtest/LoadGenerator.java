@@ -0,0 +1,443 @@
+package main.loadtest;
+
+import main.ApplicationStartup;
+import main.model.entity.Response;
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionRequest;
+import main.model.entity.dto.QuestionResponse;
+import main.model.repository.DaoQuestion;
+import main.model.repository.QuestionRepository;
+import main.util.DatabaseConnector;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Drives a mix of QuestionRepository operations at a fixed arrival rate (open model).
+ * Operations are scheduled at their intended start time regardless of how many are still running,
+ * and latency is measured from that intended start, so queueing behind slow operations is part of
+ * the reported latency instead of silently lowering the request rate (no coordinated omission).
+ * Every worker thread uses its own repository from the factory, as a DaoQuestion works on a single connection.
+ * Run against the Database of application.config: java main.loadtest.LoadGenerator
+ */
+public class LoadGenerator implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(LoadGenerator.class.getName());
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    private static final int SEED_BATCH_SIZE = 500;
+    private static final int ANSWER_POOL_SIZE = 50;
+    private static final List<Topic> TOPICS = List.of(Topic.ARTS, Topic.CULTURE, Topic.FOOD);
+
+    private final LoadProfile profile;
+    private final ExecutorService workers;
+    private final ThreadLocal<QuestionRepository> repositories;
+    private final Bank bank = new Bank();
+    private final Map<Operation, LatencyRecorder> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final AtomicInteger contentSequence = new AtomicInteger();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    public enum Operation {
+        FIND_BY_ID,
+        SEARCH_BY_TOPIC,
+        SAVE,
+        UPDATE,
+        DELETE
+    }
+
+    /**
+     * @param requestsPerSecond Target arrival rate of operations
+     * @param duration Duration of the measured run
+     * @param warmUp Duration run before the measured run, its operations are not recorded
+     * @param bankSize Amount of synthetic Questions seeded before the run
+     * @param workerThreads Amount of threads executing the operations
+     * @param mix Relative weight of each operation
+     */
+    public record LoadProfile(
+            double requestsPerSecond,
+            Duration duration,
+            Duration warmUp,
+            int bankSize,
+            int workerThreads,
+            Map<Operation, Integer> mix
+    ){
+        /**
+         * Read-heavy quiz traffic: mostly look-ups, saves and deletes in balance to keep the bank size stable.
+         */
+        public static Map<Operation, Integer> defaultMix() {
+            return Map.of(
+                    Operation.FIND_BY_ID, 70,
+                    Operation.SEARCH_BY_TOPIC, 15,
+                    Operation.SAVE, 5,
+                    Operation.UPDATE, 5,
+                    Operation.DELETE, 5
+            );
+        }
+    }
+
+    public record OperationReport(
+            Operation operation,
+            long count,
+            long errors,
+            double throughput,
+            Duration p50,
+            Duration p99,
+            Duration p999,
+            Duration max
+    ){ }
+
+    /**
+     * @param scheduled Operations scheduled during the measured run
+     * @param unfinished Operations still running after the drain timeout, not included in the reports
+     */
+    public record LoadReport(
+            Duration elapsed,
+            long scheduled,
+            long unfinished,
+            List<OperationReport> operations
+    ){
+        public String format() {
+            StringBuilder report = new StringBuilder(String.format(
+                    "Elapsed: %d ms, scheduled: %d, unfinished: %d%n", elapsed.toMillis(), scheduled, unfinished));
+            report.append(String.format("%-16s %9s %7s %10s %10s %10s %10s %10s%n",
+                    "Operation", "Count", "Errors", "Ops/s", "p50 ms", "p99 ms", "p99.9 ms", "Max ms"));
+            for (OperationReport operation : operations) {
+                report.append(String.format("%-16s %9d %7d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                        operation.operation(), operation.count(), operation.errors(), operation.throughput(),
+                        millis(operation.p50()), millis(operation.p99()), millis(operation.p999()), millis(operation.max())));
+            }
+            return report.toString();
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1_000_000.0;
+        }
+    }
+
+    /**
+     * @param repositoryFactory Creates the repository of a worker thread, called once per thread
+     * @param profile Rate, duration and operation mix of the run
+     */
+    public LoadGenerator(Supplier<QuestionRepository> repositoryFactory, LoadProfile profile) {
+        this.profile = profile;
+        this.repositories = ThreadLocal.withInitial(repositoryFactory);
+        this.workers = Executors.newFixedThreadPool(profile.workerThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "load-generator-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Operation> weighted = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        int totalWeight = 0;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyRecorder());
+            errors.put(operation, new LongAdder());
+            int weight = profile.mix().getOrDefault(operation, 0);
+            if (weight <= 0) continue;
+            totalWeight += weight;
+            weighted.add(operation);
+            weights.add(totalWeight);
+        }
+        if (weighted.isEmpty()) throw new IllegalArgumentException("Operation mix has no positive weight");
+        this.operations = weighted.toArray(new Operation[0]);
+        this.cumulativeWeights = weights.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Saves profile.bankSize() synthetic Questions in parallel, in batches when the repository is a DaoQuestion.
+     * @return Amount of Questions saved
+     */
+    public int seedBank() {
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int offset = 0; offset < profile.bankSize(); offset += SEED_BATCH_SIZE) {
+            int size = Math.min(SEED_BATCH_SIZE, profile.bankSize() - offset);
+            batches.add(CompletableFuture.runAsync(() -> seedBatch(size), workers));
+        }
+        CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0])).join();
+        return bank.size();
+    }
+
+    private void seedBatch(int size) {
+        Random random = ThreadLocalRandom.current();
+        List<QuestionRequest> requests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            requests.add(createQuestion(TOPICS.get(random.nextInt(TOPICS.size())), random));
+        }
+
+        QuestionRepository repository = repositories.get();
+        List<Long> ids;
+        try {
+            ids = repository instanceof DaoQuestion daoQuestion
+                    ? daoQuestion.saveQuestions(requests)
+                    : requests.stream().map(repository::saveQuestion).toList();
+        } catch (RuntimeException e) {
+            //Fail only this batch, seedBank's join would otherwise rethrow it as a CompletionException
+            logger.severe("Seeding a batch of " + size + " Questions failed: " + e.getMessage());
+            return;
+        }
+        if (ids == null) {
+            logger.severe("Seeding a batch of " + size + " Questions failed");
+            return;
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) != null) bank.add(ids.get(i), requests.get(i).topic());
+        }
+    }
+
+    /**
+     * Schedules operations at the profile rate for warm-up plus duration and waits for them to finish.
+     * @return Latency and throughput per operation of the measured run
+     * @throws InterruptedException If interrupted while scheduling or draining
+     */
+    public LoadReport run() throws InterruptedException {
+        long intervalNanos = Math.max(1, (long) (1_000_000_000L / profile.requestsPerSecond()));
+        long warmUpNanos = profile.warmUp().toNanos();
+        long totalOperations = (warmUpNanos + profile.duration().toNanos()) / intervalNanos;
+        long measuredOperations = profile.duration().toNanos() / intervalNanos;
+        CountDownLatch finished = new CountDownLatch((int) Math.min(Integer.MAX_VALUE, totalOperations));
+        Random random = new Random();
+
+        long start = System.nanoTime();
+        long measureStart = start + warmUpNanos;
+        for (long i = 0; i < totalOperations; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            //Behind schedule: submit immediately, the delay is accounted to the operation
+            if (wait > 0) LockSupport.parkNanos(wait);
+            if (Thread.interrupted()) throw new InterruptedException();
+
+            Operation operation = pickOperation(random);
+            boolean measured = intendedStart >= measureStart;
+            workers.execute(() -> {
+                try {
+                    execute(operation, intendedStart, measured);
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+
+        finished.await(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - measureStart);
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1_000_000_000.0;
+
+        List<OperationReport> reports = new ArrayList<>();
+        for (Operation operation : operations) {
+            LatencyRecorder latency = latencies.get(operation);
+            reports.add(new OperationReport(
+                    operation,
+                    latency.count(),
+                    errors.get(operation).sum(),
+                    latency.count() / seconds,
+                    latency.percentile(50),
+                    latency.percentile(99),
+                    latency.percentile(99.9),
+                    latency.max()
+            ));
+        }
+        return new LoadReport(elapsed, measuredOperations, finished.getCount(), reports);
+    }
+
+    /**
+     * Deletes the Questions saved by this generator that are still in the bank.
+     * @return Amount of Questions deleted
+     */
+    public int cleanUp() {
+        List<CompletableFuture<Boolean>> deletions = new ArrayList<>();
+        Bank.Entry entry;
+        while ((entry = bank.take(ThreadLocalRandom.current())) != null) {
+            long id = entry.id();
+            deletions.add(CompletableFuture.supplyAsync(() -> repositories.get().deleteQuestionById(id), workers));
+        }
+        return (int) deletions.stream().filter(CompletableFuture::join).count();
+    }
+
+    public int bankSize() {
+        return bank.size();
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    private Operation pickOperation(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void execute(Operation operation, long intendedStart, boolean measured) {
+        boolean success;
+        try {
+            success = perform(operation, repositories.get(), ThreadLocalRandom.current());
+        } catch (RuntimeException e) {
+            success = false;
+        }
+        long latency = System.nanoTime() - intendedStart;
+        if (!measured) return;
+
+        latencies.get(operation).record(latency);
+        if (!success) errors.get(operation).increment();
+    }
+
+    /**
+     * DAOs report failures as null or false instead of throwing, failed reads as an empty result.
+     * An empty read is therefore a failure, unless the bank confirms there was nothing to find.
+     * @return Whether the operation succeeded
+     */
+    private boolean perform(Operation operation, QuestionRepository repository, Random random) {
+        switch (operation) {
+            case FIND_BY_ID: {
+                Bank.Entry entry = bank.sample(random);
+                if (entry == null) return false;
+                //A Question deleted concurrently has left the bank before it was deleted, that miss is legitimate
+                return repository.findQuestionById(entry.id()).isPresent() || !bank.contains(entry.id());
+            }
+            case SEARCH_BY_TOPIC: {
+                Topic topic = TOPICS.get(random.nextInt(TOPICS.size()));
+                List<QuestionResponse> questions = repository.searchQuestionByTopic(topic);
+                return questions != null && (!questions.isEmpty() || bank.count(topic) == 0);
+            }
+            case SAVE: {
+                Topic topic = TOPICS.get(random.nextInt(TOPICS.size()));
+                Long id = repository.saveQuestion(createQuestion(topic, random));
+                if (id != null) bank.add(id, topic);
+                return id != null;
+            }
+            case UPDATE: {
+                Bank.Entry entry = bank.sample(random);
+                if (entry == null) return false;
+                //Keeps the Topic, a sharded repository rejects moving Questions between shards
+                boolean updated = repository.updateQuestionById(entry.id(), createQuestion(entry.topic(), random));
+                //As for FIND_BY_ID, updating a Question deleted concurrently is a legitimate miss
+                return updated || !bank.contains(entry.id());
+            }
+            case DELETE: {
+                Bank.Entry entry = bank.take(random);
+                return entry != null && repository.deleteQuestionById(entry.id());
+            }
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    /**
+     * Creates a Question with four Responses drawn from a small pool, so Responses repeat like in a real bank.
+     */
+    private QuestionRequest createQuestion(Topic topic, Random random) {
+        int correct = random.nextInt(4);
+        List<Response> responses = new ArrayList<>(4);
+        for (int i = 0; i < 4; i++) {
+            responses.add(new Response("Answer " + random.nextInt(ANSWER_POOL_SIZE), i == correct));
+        }
+        String content = "Load test question " + contentSequence.incrementAndGet();
+        return new QuestionRequest(topic, 1 + random.nextInt(10), content, responses);
+    }
+
+    /**
+     * Ids of the Questions saved by the generator, sampled by look-ups and updates, taken out by deletes.
+     */
+    private static final class Bank {
+        private final List<Entry> entries = new ArrayList<>();
+        private final Set<Long> ids = new HashSet<>();
+        private final Map<Topic, Integer> topicCounts = new EnumMap<>(Topic.class);
+
+        private record Entry(long id, Topic topic){ }
+
+        synchronized void add(long id, Topic topic) {
+            entries.add(new Entry(id, topic));
+            ids.add(id);
+            topicCounts.merge(topic, 1, Integer::sum);
+        }
+
+        synchronized Entry sample(Random random) {
+            return entries.isEmpty() ? null : entries.get(random.nextInt(entries.size()));
+        }
+
+        synchronized Entry take(Random random) {
+            if (entries.isEmpty()) return null;
+            int index = random.nextInt(entries.size());
+            Collections.swap(entries, index, entries.size() - 1);
+            Entry entry = entries.remove(entries.size() - 1);
+            ids.remove(entry.id());
+            topicCounts.merge(entry.topic(), -1, Integer::sum);
+            return entry;
+        }
+
+        synchronized boolean contains(long id) {
+            return ids.contains(id);
+        }
+
+        synchronized int count(Topic topic) {
+            return topicCounts.getOrDefault(topic, 0);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Runs a load test against the Database of application.config, configured via
+     * LOAD_RATE, LOAD_DURATION_SECONDS, LOAD_WARMUP_SECONDS, LOAD_BANK_SIZE and LOAD_THREADS.
+     * Seeded Questions are deleted afterwards.
+     */
+    public static void main(String[] args) throws Exception {
+        ApplicationStartup startup = new ApplicationStartup();
+        startup.start();
+        startup.awaitReady(Duration.ofMinutes(1));
+
+        LoadProfile profile = new LoadProfile(
+                Double.parseDouble(DatabaseConnector.getProperty("LOAD_RATE", "200")),
+                Duration.ofSeconds(Long.parseLong(DatabaseConnector.getProperty("LOAD_DURATION_SECONDS", "60"))),
+                Duration.ofSeconds(Long.parseLong(DatabaseConnector.getProperty("LOAD_WARMUP_SECONDS", "10"))),
+                Integer.parseInt(DatabaseConnector.getProperty("LOAD_BANK_SIZE", "10000")),
+                Integer.parseInt(DatabaseConnector.getProperty("LOAD_THREADS", "16")),
+                LoadProfile.defaultMix()
+        );
+
+        List<Connection> borrowed = Collections.synchronizedList(new ArrayList<>());
+        Supplier<QuestionRepository> repositoryFactory = () -> {
+            try {
+                Connection connection = startup.connectionPool().borrow();
+                borrowed.add(connection);
+                return startup.createDaoQuestion(connection);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to open a worker connection", e);
+            }
+        };
+
+        try (LoadGenerator generator = new LoadGenerator(repositoryFactory, profile)) {
+            System.out.println("Seeded Questions: " + generator.seedBank());
+            System.out.print(generator.run().format());
+            System.out.println("Deleted Questions: " + generator.cleanUp());
+        } finally {
+            borrowed.forEach(startup.connectionPool()::release);
+            startup.connectionPool().close();
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package main.model.entity;
 
-import java.util.Objects;
-
 public record Response (
         String text,
         boolean correct
@@ -16,6 +14,6 @@ public record Response (
 
     @Override
     public int hashCode() {
-        return Objects.hash(text, correct);
+        return 31 * text.hashCode() + Boolean.hashCode(correct);
     }
 }
@@ -5,9 +5,30 @@ import main.model.entity.Topic;
 
 import java.util.List;
 
+/**
+ * @param idempotencyKey Optional client-chosen key of at most 64 characters,
+ *                       retries with the same key are saved only once (may be null)
+ */
 public record QuestionRequest (
         Topic topic,
         int difficultyRankNumber,
         String content,
-        List<Response> responses
-){ }
+        List<Response> responses,
+        String idempotencyKey
+){
+    //Length of the question.idempotency_key column
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
+    /**
+     * @throws IllegalArgumentException If the idempotency key is longer than MAX_IDEMPOTENCY_KEY_LENGTH characters
+     */
+    public QuestionRequest {
+        if (idempotencyKey != null && idempotencyKey.codePointCount(0, idempotencyKey.length()) > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key exceeds " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+    }
+
+    public QuestionRequest(Topic topic, int difficultyRankNumber, String content, List<Response> responses) {
+        this(topic, difficultyRankNumber, content, responses, null);
+    }
+}
@@ -3,17 +3,54 @@ package main.model.entity.dto;
 import main.model.entity.Response;
 import main.model.entity.Topic;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
-
-public record QuestionResponse (
-        long id,
-        Topic topic,
-        int difficultyRankNumber,
-        String content,
-        List<Response> responses
-){
+
+/**
+ * Question as read from the Database.
+ * Equality ignores the order of the responses. The hash is computed once and cached,
+ * which is safe as the responses are copied into an unmodifiable list on construction.
+ */
+public final class QuestionResponse {
+    private final long id;
+    private final Topic topic;
+    private final int difficultyRankNumber;
+    private final String content;
+    private final List<Response> responses;
+
+    private int hash;
+    private boolean hashIsZero;
+
+    public QuestionResponse(long id, Topic topic, int difficultyRankNumber, String content, List<Response> responses) {
+        this.id = id;
+        this.topic = topic;
+        this.difficultyRankNumber = difficultyRankNumber;
+        this.content = content;
+        this.responses = List.copyOf(responses);
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public Topic topic() {
+        return topic;
+    }
+
+    public int difficultyRankNumber() {
+        return difficultyRankNumber;
+    }
+
+    public String content() {
+        return content;
+    }
+
+    /**
+     * @return Unmodifiable list of the responses
+     */
+    public List<Response> responses() {
+        return responses;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -21,12 +58,69 @@ public record QuestionResponse (
         QuestionResponse that = (QuestionResponse) o;
         return id == that.id
                 && difficultyRankNumber == that.difficultyRankNumber
-                && topic == that.topic && content.equals(that.content)
-                && new HashSet<>(responses).containsAll(that.responses);
+                && topic == that.topic
+                && hashCode() == that.hashCode()
+                && content.equals(that.content)
+                && containSameResponses(responses, that.responses);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, topic, difficultyRankNumber, content, responses);
+        int h = hash;
+        if (h == 0 && !hashIsZero) {
+            h = Long.hashCode(id);
+            h = 31 * h + (topic == null ? 0 : topic.ordinal());
+            h = 31 * h + difficultyRankNumber;
+            h = 31 * h + content.hashCode();
+
+            //Sum is independent of the response order
+            int responsesHash = 0;
+            for (Response response : responses) {
+                responsesHash += response.hashCode();
+            }
+            h = 31 * h + responsesHash;
+
+            if (h == 0) {
+                hashIsZero = true;
+            } else {
+                hash = h;
+            }
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "QuestionResponse[id=" + id
+                + ", topic=" + topic
+                + ", difficultyRankNumber=" + difficultyRankNumber
+                + ", content=" + content
+                + ", responses=" + responses + "]";
+    }
+
+    /**
+     * Compares both lists as multisets without allocating.
+     * Matching prefixes (same order) are skipped, the remaining responses are compared by occurrence count.
+     */
+    private static boolean containSameResponses(List<Response> responses, List<Response> otherResponses) {
+        int size = responses.size();
+        if (size != otherResponses.size()) return false;
+
+        int start = 0;
+        while (start < size && responses.get(start).equals(otherResponses.get(start))) start++;
+
+        for (int i = start; i < size; i++) {
+            Response response = responses.get(i);
+            if (occurrences(responses, response, start) != occurrences(otherResponses, response, start)) return false;
+        }
+        return true;
+    }
+
+    private static int occurrences(List<Response> responses, Response response, int start) {
+        int count = 0;
+        for (int i = start; i < responses.size(); i++) {
+            if (response.equals(responses.get(i))) count++;
+        }
+        return count;
     }
 }
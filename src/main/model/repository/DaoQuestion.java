@@ -5,94 +5,247 @@ import main.model.entity.Response;
 import main.model.entity.Topic;
 import main.model.entity.dto.QuestionRequest;
 import main.model.entity.dto.QuestionResponse;
+import main.util.ConnectionRouter;
+import main.util.IdempotencyKeyStore;
+import main.util.TransactionAwareConnection;
 
 import java.sql.*;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
-public class DaoQuestion {
+public class DaoQuestion implements QuestionRepository {
     private static final Logger logger = Logger.getLogger(DaoQuestion.class.getName());
-    private final String questionSelectQuery = "SELECT q.id as question_id, q.difficultyRankNumber as difficulty, q.content, t.topicName as topic, r.text, r.correct FROM question_response qr JOIN question q ON question_id = q.id JOIN response r ON response_id = r.id JOIN topic t ON topic_id = t.id ";
+    private static final String QUESTION_INSERT_QUERY = "INSERT INTO question(difficultyRankNumber,content,topic_id) VALUES(?,?,?)";
+    private static final String KEYED_QUESTION_INSERT_QUERY = "INSERT INTO question(difficultyRankNumber,content,topic_id,idempotency_key) VALUES(?,?,?,?)";
+    private final String questionSelectQuery = "SELECT q.id as question_id, q.difficultyRankNumber as difficulty, q.content, t.topicName as topic, r.id as response_id, r.text, r.correct FROM question_response qr JOIN question q ON question_id = q.id JOIN response r ON response_id = r.id JOIN topic t ON topic_id = t.id ";
+    private final ConnectionRouter router;
     private final Connection connection;
     private final DaoTopic daoTopic;
     private final DaoResponse daoResponse;
+    private final List<QuestionChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private IdempotencyKeyStore idempotencyKeyStore = new IdempotencyKeyStore(10_000, Duration.ofMinutes(10));
+    private ResponseDictionary responseDictionary = new ResponseDictionary(100_000);
 
     public DaoQuestion(Connection connection, DaoTopic daoTopic, DaoResponse daoResponse) {
-        this.connection = connection;
+        this(ConnectionRouter.primaryOnly(connection), daoTopic, daoResponse);
+    }
+
+    /**
+     * Creates a DaoQuestion splitting reads and writes:
+     * writes are issued on the primary, reads are routed to the replicas of the router.
+     * The DaoTopic and DaoResponse have to operate on the primary connection.
+     */
+    public DaoQuestion(ConnectionRouter router, DaoTopic daoTopic, DaoResponse daoResponse) {
+        this.router = router;
+        this.connection = router.primary();
         this.daoTopic = daoTopic;
         this.daoResponse = daoResponse;
     }
 
+    /**
+     * Registers a listener notified after every save, update and delete of a Question.
+     * On a TransactionAwareConnection (every connection of DatabaseConnector) listeners are notified
+     * once the change is committed and not at all if it is rolled back.
+     * Other connections can't report their commit, there listeners are notified right after the change.
+     * @param listener QuestionChangeListener to notify
+     */
+    public void addChangeListener(QuestionChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Replaces the store used to deduplicate saveQuestion requests carrying an idempotency key.
+     * Default: 10.000 keys remembered for 10 minutes.
+     * @param idempotencyKeyStore IdempotencyKeyStore to use
+     */
+    public void setIdempotencyKeyStore(IdempotencyKeyStore idempotencyKeyStore) {
+        this.idempotencyKeyStore = idempotencyKeyStore;
+    }
+
+    /**
+     * Replaces the dictionary sharing Response instances across retrieved Questions,
+     * e.g. to share one dictionary between several DaoQuestion instances of the same database.
+     * Response Ids of different databases (e.g. shards) overlap, so every database needs its own dictionary.
+     * Default: up to 100.000 Responses.
+     * @param responseDictionary ResponseDictionary to use
+     */
+    public void setResponseDictionary(ResponseDictionary responseDictionary) {
+        this.responseDictionary = responseDictionary;
+    }
+
     /**
      * Retrieves all questions from the Database
      *
      * @return List of QuestionResponse Objects or empty List if none were found.
      */
+    @Override
     public List<QuestionResponse> retrieveQuestions() {
+        Connection readConnection = null;
         try {
-            PreparedStatement statement = connection.prepareStatement(questionSelectQuery);
-            ResultSet rs = statement.executeQuery();
-
-            return parseResultSet(rs);
+            readConnection = router.acquireRead();
+            try (PreparedStatement statement = readConnection.prepareStatement(questionSelectQuery)) {
+                ResultSet rs = statement.executeQuery();
 
+                return parseResultSet(rs);
+            }
 
         } catch (SQLException | IllegalArgumentException e) {
             logger.severe("Failed to retrieve all Questions: " + e.getMessage());
+        } finally {
+            if (readConnection != null) router.releaseRead(readConnection);
         }
         return List.of();
     }
 
     /**
      * Accumulates Responses into a List of Response Objects from the ResultSet and returns the unique QuestionResponse Objects
+     * Responses are shared across the returned Questions via the ResponseDictionary.
      *
-     * @param rs ResultSet of the Query | Labels: question_id, text, correct, topic, difficulty, content
+     * @param rs ResultSet of the Query | Labels: question_id, response_id, text, correct, topic, difficulty, content
      * @return List of QuestionResponse Objects
      * @throws SQLException if specified column Labels of ResultSet are invalid
      */
-    private static List<QuestionResponse> parseResultSet(ResultSet rs) throws SQLException {
-        Map<Integer, QuestionResponse> retrievedQuestions = new HashMap<>();
+    private List<QuestionResponse> parseResultSet(ResultSet rs) throws SQLException {
+        //Responses are collected first, a QuestionResponse can't be changed once built
+        Map<Integer, ParsedQuestion> parsedQuestions = new HashMap<>();
         while (rs.next()) {
             int questionId = rs.getInt("question_id");
+            long responseId = rs.getLong("response_id");
+
+            //Only read the text for Responses not seen before
+            Response response = responseDictionary.find(responseId);
+            if (response == null) {
+                response = responseDictionary.canonicalize(responseId, new Response(
+                        rs.getString("text"),
+                        rs.getBoolean("correct")
+                ));
+            }
 
-            Response response = new Response(
-                    rs.getString("text"),
-                    rs.getBoolean("correct")
-            );
-
-            Topic topic = Topic.valueOf(rs.getString("topic").toUpperCase());
-            int difficultyRankNumber = rs.getInt("difficulty");
-            String content = rs.getString("content");
-
-            QuestionResponse question = new QuestionResponse(
-                    questionId,
-                    topic,
-                    difficultyRankNumber,
-                    content,
-                    new ArrayList<>()
-            );
+            ParsedQuestion question = parsedQuestions.get(questionId);
+            if (question == null) {
+                question = new ParsedQuestion(
+                        questionId,
+                        Topic.valueOf(rs.getString("topic").toUpperCase()),
+                        rs.getInt("difficulty"),
+                        rs.getString("content"),
+                        new ArrayList<>()
+                );
+                parsedQuestions.put(questionId, question);
+            }
+            question.responses().add(response);
+        }
+        return parsedQuestions.values().stream().map(ParsedQuestion::build).toList();
+    }
 
-            List<Response> responses = retrievedQuestions.getOrDefault(
-                    questionId, question).responses();
-            responses.add(response);
-
-            retrievedQuestions.put(questionId, new QuestionResponse(
-                    questionId,
-                    topic,
-                    difficultyRankNumber,
-                    content,
-                    responses
-            ));
+    /**
+     * Question read from the ResultSet, while its Responses are still being collected.
+     */
+    private record ParsedQuestion(
+            int id,
+            Topic topic,
+            int difficultyRankNumber,
+            String content,
+            List<Response> responses
+    ){
+        QuestionResponse build() {
+            return new QuestionResponse(id, topic, difficultyRankNumber, content, responses);
         }
-        return retrievedQuestions.values().stream().toList();
     }
 
     /**
      * Saves question to the Database
-     * Note: This should be wrapped in a Transaction for Production!
-     * @return success
+     * Requests with the idempotency key of an already saved Question are not saved again,
+     * the Id of the original Question is returned instead.
+     * The key is stored with the Question (idempotency_key column), so a rolled back save is retried for real.
+     * In autoCommit mode a keyed save runs in its own transaction and saved keys are additionally cached in the IdempotencyKeyStore.
+     * Note: Saves without a key should be wrapped in a Transaction for Production!
+     * @return Id of the saved Question or null if saving failed
      */
+    @Override
     public Long saveQuestion(QuestionRequest request) {
-        String questionInsertQuery = "INSERT INTO question(difficultyRankNumber,content,topic_id) VALUES(?,?,?)";
+        if (request.idempotencyKey() == null) {
+            try {
+                return insertQuestion(request);
+            } catch (SQLException e) {
+                logger.severe("Failed to save Question: " + e.getMessage());
+                return null;
+            }
+        }
+
+        try {
+            //Only committed saves may be cached, within a transaction the column is the only record
+            if (connection.getAutoCommit()) {
+                return idempotencyKeyStore.executeOnce(request.idempotencyKey(), () -> saveIdempotent(request));
+            }
+        } catch (SQLException e) {
+            logger.severe("Failed to save Question: " + e.getMessage());
+            return null;
+        }
+        return saveIdempotent(request);
+    }
+
+    /**
+     * Saves the Question unless a Question with its idempotency key exists.
+     * @return Id of the saved or existing Question or null if saving failed
+     */
+    private Long saveIdempotent(QuestionRequest request) {
+        boolean ownTransaction = false;
+        try {
+            //In autoCommit mode save Question and links atomically, a retry must never find the key without the links
+            ownTransaction = connection.getAutoCommit();
+            if (ownTransaction) connection.setAutoCommit(false);
+
+            Long existingId = findQuestionIdByIdempotencyKey(request.idempotencyKey());
+            Long questionId = existingId != null ? existingId : insertQuestion(request);
+
+            if (ownTransaction) connection.commit();
+            return questionId;
+        } catch (SQLIntegrityConstraintViolationException e) {
+            if (ownTransaction) rollback();
+            //A concurrent save of the same key was committed in between
+            try {
+                Long existingId = findQuestionIdByIdempotencyKey(request.idempotencyKey());
+                if (existingId != null) return existingId;
+            } catch (SQLException lookupException) {
+                logger.severe("Failed to look up idempotency key: " + lookupException.getMessage());
+            }
+            logger.severe("Failed to save Question: " + e.getMessage());
+            return null;
+        } catch (SQLException e) {
+            logger.severe("Failed to save Question: " + e.getMessage());
+            if (ownTransaction) rollback();
+            return null;
+        } catch (RuntimeException e) {
+            if (ownTransaction) rollback();
+            throw e;
+        } finally {
+            if (ownTransaction) restoreAutoCommit();
+        }
+    }
+
+    /**
+     * Looks up the Question saved with the idempotency key on the primary, including the open transaction.
+     * @param idempotencyKey Idempotency key of the request
+     * @return Id of the Question or null if no Question was saved with the key
+     * @throws SQLException If the Query failed
+     */
+    private Long findQuestionIdByIdempotencyKey(String idempotencyKey) throws SQLException {
+        String query = "SELECT id FROM question WHERE idempotency_key = ?";
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setString(1, idempotencyKey);
+            ResultSet rs = statement.executeQuery();
+            Long id = rs.next() ? rs.getLong("id") : null;
+            rs.close();
+            return id;
+        }
+    }
+
+    private long insertQuestion(QuestionRequest request) throws SQLException {
+        //The idempotency_key column is only required by keyed saves
+        String questionInsertQuery = request.idempotencyKey() != null ? KEYED_QUESTION_INSERT_QUERY : QUESTION_INSERT_QUERY;
 
         try (
              PreparedStatement questionInsertStatement = connection.prepareStatement(questionInsertQuery, Statement.RETURN_GENERATED_KEYS);
@@ -108,6 +261,7 @@ public class DaoQuestion {
             questionInsertStatement.setInt(1, request.difficultyRankNumber());
             questionInsertStatement.setString(2, request.content());
             questionInsertStatement.setInt(3, topicId);
+            if (request.idempotencyKey() != null) questionInsertStatement.setString(4, request.idempotencyKey());
 
             questionInsertStatement.execute();
             ResultSet questionKeyResultSet = questionInsertStatement.getGeneratedKeys();
@@ -116,15 +270,204 @@ public class DaoQuestion {
 
             //Link question_response
             linkQuestionResponse(questionId, responseIdList);
+            router.markWritten();
+            notifyAfterCommit(listener -> listener.questionSaved(questionId, request));
 
             return questionId;
+        }
+    }
+
 
+    /**
+     * Saves several questions within one transaction using batch statements:
+     * one look-up/insert batch for all distinct Responses, one insert batch for the Questions
+     * and one insert batch for the question_response links.
+     * If the connection is in autoCommit mode the batch is committed (or rolled back) as a whole,
+     * otherwise the surrounding transaction is left to the caller.
+     * Requests with the idempotency key of an already saved Question are not saved again,
+     * keys repeated within the batch resolve to the Id of their first request.
+     * Listeners are notified and keys cached once the batch is committed.
+     * @param requests List of QuestionRequest Objects to save
+     * @return List of Question-Ids in order of the requests or null if saving failed
+     */
+    public List<Long> saveQuestions(List<QuestionRequest> requests) {
+        String questionResponseQuery = "INSERT INTO question_response(question_id, response_id) VALUES (?,?)";
+
+        Long[] questionIds = new Long[requests.size()];
+        List<Integer> pendingIndices = new ArrayList<>();
+        Map<String, Integer> firstIndexByKey = new HashMap<>();
+        Map<Integer, Integer> duplicateOf = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String key = requests.get(i).idempotencyKey();
+            if (key != null) {
+                //The store only holds committed saves
+                questionIds[i] = idempotencyKeyStore.find(key);
+                if (questionIds[i] != null) continue;
+
+                //Within the batch, a repeated key is resolved to the Id of its first request
+                Integer firstIndex = firstIndexByKey.putIfAbsent(key, i);
+                if (firstIndex != null) {
+                    duplicateOf.put(i, firstIndex);
+                    continue;
+                }
+            }
+            pendingIndices.add(i);
+        }
+        if (pendingIndices.isEmpty()) {
+            duplicateOf.forEach((i, firstIndex) -> questionIds[i] = questionIds[firstIndex]);
+            return Arrays.asList(questionIds);
+        }
+
+        boolean ownTransaction = false;
+        try {
+            ownTransaction = connection.getAutoCommit();
+            if (ownTransaction) connection.setAutoCommit(false);
+
+            //Keys saved before, including the open transaction
+            Map<String, Long> savedKeys = findQuestionIdsByIdempotencyKeys(firstIndexByKey.keySet());
+            pendingIndices.removeIf(i -> {
+                Long savedId = savedKeys.get(requests.get(i).idempotencyKey());
+                questionIds[i] = savedId;
+                return savedId != null;
+            });
+
+            if (!pendingIndices.isEmpty()) {
+                insertQuestions(requests, pendingIndices, questionIds, questionResponseQuery);
+            }
+
+            if (ownTransaction) connection.commit();
         } catch (SQLException e) {
-            logger.severe("Failed to save Question: " + e.getMessage());
+            logger.severe("Failed to save Question batch: " + e.getMessage());
+            if (ownTransaction) rollback();
             return null;
+        } catch (RuntimeException e) {
+            //Don't leave a partial batch to be committed by the next transaction
+            if (ownTransaction) rollback();
+            throw e;
+        } finally {
+            if (ownTransaction) restoreAutoCommit();
+        }
+
+        if (!pendingIndices.isEmpty()) router.markWritten();
+        for (int i : pendingIndices) {
+            QuestionRequest request = requests.get(i);
+            long questionId = questionIds[i];
+            try {
+                if (request.idempotencyKey() != null) rememberAfterCommit(request.idempotencyKey(), questionId, ownTransaction);
+                notifyAfterCommit(listener -> listener.questionSaved(questionId, request));
+            } catch (SQLException e) {
+                logger.severe("Failed to register commit actions of saved Question: " + e.getMessage());
+            }
+        }
+        duplicateOf.forEach((i, firstIndex) -> questionIds[i] = questionIds[firstIndex]);
+        return Arrays.asList(questionIds);
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.severe("Failed to roll back Question save: " + e.getMessage());
+        }
+    }
+
+    private void restoreAutoCommit() {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            logger.severe("Failed to restore autoCommit: " + e.getMessage());
         }
     }
 
+    /**
+     * Inserts the Responses, Questions and question_response links of the pending requests as batches.
+     * @param questionIds Receives the generated Question-Id per request index
+     * @throws SQLException If one of the batches failed
+     */
+    private void insertQuestions(
+            List<QuestionRequest> requests,
+            List<Integer> pendingIndices,
+            Long[] questionIds,
+            String questionResponseQuery
+    ) throws SQLException {
+        //The idempotency_key column is only required by batches with keyed saves
+        boolean keyed = pendingIndices.stream().anyMatch(i -> requests.get(i).idempotencyKey() != null);
+        String questionInsertQuery = keyed ? KEYED_QUESTION_INSERT_QUERY : QUESTION_INSERT_QUERY;
+
+        //Upsert Responses
+        List<Response> responses = new ArrayList<>();
+        pendingIndices.forEach(i -> responses.addAll(requests.get(i).responses()));
+        Map<Response, Long> responseIds = daoResponse.saveResponsesMapped(responses);
+
+        //Query Topics
+        Map<Topic, Integer> topicIds = new EnumMap<>(Topic.class);
+        for (int i : pendingIndices) {
+            Topic topic = requests.get(i).topic();
+            if (!topicIds.containsKey(topic)) topicIds.put(topic, daoTopic.getTopicIdByName(topic));
+        }
+
+        //Insert Questions
+        try (
+                PreparedStatement questionInsertStatement = connection.prepareStatement(questionInsertQuery, Statement.RETURN_GENERATED_KEYS);
+                PreparedStatement questionResponseInsertStatement = connection.prepareStatement(questionResponseQuery)
+        ) {
+            for (int i : pendingIndices) {
+                QuestionRequest request = requests.get(i);
+                questionInsertStatement.setInt(1, request.difficultyRankNumber());
+                questionInsertStatement.setString(2, request.content());
+                questionInsertStatement.setInt(3, topicIds.get(request.topic()));
+                if (keyed) questionInsertStatement.setString(4, request.idempotencyKey());
+                questionInsertStatement.addBatch();
+            }
+            questionInsertStatement.executeBatch();
+
+            ResultSet questionKeyResultSet = questionInsertStatement.getGeneratedKeys();
+            for (int i : pendingIndices) {
+                if (!questionKeyResultSet.next()) throw new SQLException("Missing generated Question-Id");
+                questionIds[i] = questionKeyResultSet.getLong(1);
+            }
+            questionKeyResultSet.close();
+
+            //Link question_response, repeated Responses of a question once
+            for (int i : pendingIndices) {
+                Set<Long> linkedResponseIds = new HashSet<>();
+                for (Response response : requests.get(i).responses()) {
+                    long responseId = responseIds.get(response);
+                    if (!linkedResponseIds.add(responseId)) continue;
+                    questionResponseInsertStatement.setLong(1, questionIds[i]);
+                    questionResponseInsertStatement.setLong(2, responseId);
+                    questionResponseInsertStatement.addBatch();
+                }
+            }
+            questionResponseInsertStatement.executeBatch();
+        }
+    }
+
+    /**
+     * Looks up the Questions saved with any of the idempotency keys on the primary, including the open transaction.
+     * @param idempotencyKeys Idempotency keys of the requests
+     * @return Question-Id per saved key, keys without a Question are missing
+     * @throws SQLException If the Query failed
+     */
+    private Map<String, Long> findQuestionIdsByIdempotencyKeys(Collection<String> idempotencyKeys) throws SQLException {
+        Map<String, Long> questionIds = new HashMap<>();
+        if (idempotencyKeys.isEmpty()) return questionIds;
+
+        String query = "SELECT id, idempotency_key FROM question WHERE idempotency_key IN ("
+                + String.join(",", Collections.nCopies(idempotencyKeys.size(), "?")) + ")";
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            int parameterIndex = 1;
+            for (String idempotencyKey : idempotencyKeys) {
+                statement.setString(parameterIndex++, idempotencyKey);
+            }
+            ResultSet rs = statement.executeQuery();
+            while (rs.next()) {
+                questionIds.put(rs.getString("idempotency_key"), rs.getLong("id"));
+            }
+            rs.close();
+        }
+        return questionIds;
+    }
 
     /**
      * Updates a Question and all related repositories
@@ -132,11 +475,13 @@ public class DaoQuestion {
      * @param newQuestion QuestionRequest Object to update the Question with
      * @return success
      */
+    @Override
     public boolean updateQuestionById(long id, QuestionRequest newQuestion) {
         String questionUpdateQuery = "UPDATE question SET difficultyRankNumber = ?, content = ?";
 
         try {
-            Optional<QuestionResponse> retrievedQuestion = findQuestionById(id);
+            //Read within the write has to see the primary state
+            Optional<QuestionResponse> retrievedQuestion = findQuestionById(connection, id);
             if (retrievedQuestion.isEmpty()) return false;
             QuestionResponse oldQuestion = retrievedQuestion.get();
 
@@ -164,11 +509,12 @@ public class DaoQuestion {
                 List<Long> updatedResponseList = daoResponse.saveResponses(newQuestion.responses());
                 linkQuestionResponse(id, updatedResponseList);
             }
+            router.markWritten();
+            notifyAfterCommit(listener -> listener.questionUpdated(oldQuestion, newQuestion));
 
             return true;
         } catch (IllegalAccessException | SQLException e) {
-            String errorMsg = String.format("Question Update failed Id:%d" + e.getMessage(), id);
-            logger.severe(errorMsg);
+            logger.severe(() -> "Question Update failed Id:" + id + " " + e.getMessage());
             return false;
         }
     }
@@ -178,21 +524,28 @@ public class DaoQuestion {
      * @param id Primary-Key of the Entry to be removed
      * @return success
      */
+    @Override
     public boolean deleteQuestionById(long id) {
         String questionDeleteQuery = "DELETE FROM question WHERE id = ?";
 
         try (PreparedStatement questionDeleteStatement = connection.prepareStatement(questionDeleteQuery)) {
+            //Listeners require the state before the deletion
+            Optional<QuestionResponse> deletedQuestion = changeListeners.isEmpty()
+                    ? Optional.empty()
+                    : findQuestionById(connection, id);
+
             //Remove Question-FK from question_response
             daoResponse.deleteQuestionResponsesForId(id);
 
             //Delete Question
             questionDeleteStatement.setLong(1, id);
             questionDeleteStatement.execute();
+            router.markWritten();
+            if (deletedQuestion.isPresent()) notifyAfterCommit(listener -> listener.questionDeleted(deletedQuestion.get()));
 
             return true;
         } catch (SQLException e) {
-            String errorMsg = String.format("Delete Question failed Id:%d" + e.getMessage(), id);
-            logger.severe(errorMsg);
+            logger.severe(() -> "Delete Question failed Id:" + id + " " + e.getMessage());
             return false;
         }
     }
@@ -202,19 +555,25 @@ public class DaoQuestion {
      * @param topic Topic-Enum to search on
      * @return List of QuestionResponse Objects matching the topic
      */
+    @Override
     public List<QuestionResponse> searchQuestionByTopic(Topic topic) {
-        String query = questionSelectQuery + "WHERE t.topicName LIKE ?";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, topic.toString());
-            ResultSet rs = statement.executeQuery();
+        String query = questionSelectQuery + "WHERE t.topicName = ?";
+        Connection readConnection = null;
+        try {
+            readConnection = router.acquireRead();
+            try (PreparedStatement statement = readConnection.prepareStatement(query)) {
+                statement.setString(1, topic.toString());
+                ResultSet rs = statement.executeQuery();
 
-            return parseResultSet(rs);
+                return parseResultSet(rs);
+            }
 
         } catch (SQLException | IllegalArgumentException e) {
-            String errorMsg = String.format("Topic search failed Topic-Name:%s" + e.getMessage(), topic);
-            logger.severe(errorMsg);
+            logger.severe(() -> "Topic search failed Topic-Name:" + topic + " " + e.getMessage());
 
             return List.of();
+        } finally {
+            if (readConnection != null) router.releaseRead(readConnection);
         }
     }
 
@@ -223,24 +582,73 @@ public class DaoQuestion {
      * @param id The Primary-Key of the Question
      * @return QuestionResponse Object or Empty is the Id was not found.
      */
+    @Override
     public Optional<QuestionResponse> findQuestionById(long id) {
+        Connection readConnection = null;
+        try {
+            readConnection = router.acquireRead();
+            return findQuestionById(readConnection, id);
+
+        } catch (SQLException | IndexOutOfBoundsException e) {
+            logger.severe(() -> "Question search failed Id:" + id + " " + e.getMessage());
+        } finally {
+            if (readConnection != null) router.releaseRead(readConnection);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds a Question by its Id on the specified connection.
+     * @param readConnection Connection to query on
+     * @param id The Primary-Key of the Question
+     * @return QuestionResponse Object or Empty is the Id was not found.
+     * @throws SQLException If the Query failed
+     */
+    private Optional<QuestionResponse> findQuestionById(Connection readConnection, long id) throws SQLException {
         String query = questionSelectQuery + "WHERE q.id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        try (PreparedStatement statement = readConnection.prepareStatement(query)) {
             statement.setLong(1, id);
             ResultSet rs = statement.executeQuery();
 
             List<QuestionResponse> questions = parseResultSet(rs);
             return questions.isEmpty() ? Optional.empty() : Optional.of(questions.get(0));
+        }
+    }
 
-        } catch (SQLException | IndexOutOfBoundsException e) {
-            String errorMsg = String.format("Question search failed Id:%d" + e.getMessage(), id);
-            logger.severe(errorMsg);
+    /**
+     * Remembers the idempotency key once the Question is committed.
+     * Without a TransactionAwareConnection the commit of a caller's transaction can't be observed,
+     * so the key is only looked up in the Database by later retries.
+     * @param committed Whether the Question was already committed
+     * @throws SQLException If the transaction state of the connection could not be determined
+     */
+    private void rememberAfterCommit(String idempotencyKey, long questionId, boolean committed) throws SQLException {
+        if (committed) {
+            idempotencyKeyStore.remember(idempotencyKey, questionId);
+        } else if (connection instanceof TransactionAwareConnection transactionAware) {
+            transactionAware.afterCommit(() -> idempotencyKeyStore.remember(idempotencyKey, questionId));
+        }
+    }
+
+    /**
+     * Notifies the listeners once the current change is committed, see addChangeListener(...).
+     * @param notification Notification of one listener
+     * @throws SQLException If the transaction state of the connection could not be determined
+     */
+    private void notifyAfterCommit(Consumer<QuestionChangeListener> notification) throws SQLException {
+        if (changeListeners.isEmpty()) return;
+
+        Runnable notifyListeners = () -> changeListeners.forEach(notification);
+        if (connection instanceof TransactionAwareConnection transactionAware) {
+            transactionAware.afterCommit(notifyListeners);
+        } else {
+            notifyListeners.run();
         }
-        return Optional.empty();
     }
 
     /**
      * Performs a batch Insert on the question_response table linking a question to several valid responses.
+     * Repeated Responses are linked once, as the links are unique per question.
      * @param questionId Primary-Key of the question
      * @param responseIdList List of Primary-Keys for possible responses
      * @throws SQLException If the batch Insert failed.
@@ -249,7 +657,7 @@ public class DaoQuestion {
         String questionResponseQuery = "INSERT INTO question_response(question_id, response_id) VALUES (?,?)";
 
         try(PreparedStatement questionResponseInsertStatement = connection.prepareStatement(questionResponseQuery);){
-            for (Long responseId : responseIdList) {
+            for (Long responseId : new LinkedHashSet<>(responseIdList)) {
                 questionResponseInsertStatement.setLong(1, questionId);
                 questionResponseInsertStatement.setLong(2, responseId);
                 questionResponseInsertStatement.addBatch();
@@ -4,7 +4,11 @@ import main.model.entity.Response;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 public class DaoResponse {
     private final Connection connection;
@@ -20,7 +24,7 @@ public class DaoResponse {
      * @throws SQLException If the insert failed
      */
     public List<Long> saveResponses(List<Response> responses) throws SQLException {
-        String selectQuery = "SELECT id as response_id FROM response WHERE text LIKE ? AND correct = ?";
+        String selectQuery = "SELECT id as response_id FROM response WHERE text = ? AND correct = ?";
         String responseInsertQuery = "INSERT IGNORE INTO response(text, correct) VALUES(?,?)";
 
         try (
@@ -33,13 +37,12 @@ public class DaoResponse {
                 //Look-up existing Responses
                 selectStatement.setString(1, response.text());
                 selectStatement.setBoolean(2, response.correct());
-                ResultSet result = selectStatement.executeQuery();
-
-                if(result.next()) {
-                    responseIdList.add(result.getLong(1));
-                    continue;
+                try (ResultSet result = selectStatement.executeQuery()) {
+                    if (result.next()) {
+                        responseIdList.add(result.getLong(1));
+                        continue;
+                    }
                 }
-                result.close();
 
                 //Insert Responses
                 responseInsertStatement.setString(1, response.text());
@@ -58,6 +61,73 @@ public class DaoResponse {
         }
     }
 
+    /**
+     * Looks up or inserts every distinct Response and maps each Response to its Primary-Key.
+     * Used to link the Responses of several Questions within one batch.
+     * @param responses Responses to look up or insert, may contain duplicates.
+     * @return Map of each distinct Response to its Id
+     * @throws SQLException If the look-up or insert failed
+     */
+    public Map<Response, Long> saveResponsesMapped(Collection<Response> responses) throws SQLException {
+        String selectQuery = "SELECT id as response_id FROM response WHERE text = ? AND correct = ?";
+        String responseInsertQuery = "INSERT IGNORE INTO response(text, correct) VALUES(?,?)";
+
+        try (
+                PreparedStatement selectStatement = connection.prepareStatement(selectQuery);
+                PreparedStatement responseInsertStatement = connection.prepareStatement(responseInsertQuery, Statement.RETURN_GENERATED_KEYS);
+        ) {
+            Map<Response, Long> responseIds = new HashMap<>();
+            List<Response> missingResponses = new ArrayList<>();
+
+            for (Response response : new LinkedHashSet<>(responses)) {
+                Long responseId = findResponseId(selectStatement, response);
+                if (responseId != null) {
+                    responseIds.put(response, responseId);
+                } else {
+                    missingResponses.add(response);
+                }
+            }
+            if (missingResponses.isEmpty()) return responseIds;
+
+            for (Response response : missingResponses) {
+                responseInsertStatement.setString(1, response.text());
+                responseInsertStatement.setBoolean(2, response.correct());
+                responseInsertStatement.addBatch();
+            }
+            responseInsertStatement.executeBatch();
+
+            List<Long> generatedIds = new ArrayList<>();
+            ResultSet responseKeysResultSet = responseInsertStatement.getGeneratedKeys();
+            while (responseKeysResultSet.next()) {
+                generatedIds.add(responseKeysResultSet.getLong(1));
+            }
+            responseKeysResultSet.close();
+
+            if (generatedIds.size() == missingResponses.size()) {
+                for (int i = 0; i < missingResponses.size(); i++) {
+                    responseIds.put(missingResponses.get(i), generatedIds.get(i));
+                }
+                return responseIds;
+            }
+
+            //Rows were ignored (inserted concurrently), generated keys can't be matched by position
+            for (Response response : missingResponses) {
+                Long responseId = findResponseId(selectStatement, response);
+                if (responseId == null) throw new SQLException("Response could not be saved: " + response.text());
+                responseIds.put(response, responseId);
+            }
+            return responseIds;
+        }
+    }
+
+    private static Long findResponseId(PreparedStatement selectStatement, Response response) throws SQLException {
+        selectStatement.setString(1, response.text());
+        selectStatement.setBoolean(2, response.correct());
+        try (ResultSet result = selectStatement.executeQuery()) {
+            return result.next() ? result.getLong(1) : null;
+        }
+    }
+
     /**
      * Deletes all question_response table entries for the specified question
      * @param questionId The Primary-Key of the Question
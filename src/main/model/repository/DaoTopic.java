@@ -6,16 +6,52 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 public class DaoTopic {
     private final Connection connection;
     private static final Logger logger = Logger.getLogger(DaoTopic.class.getName());
+    //Topic rows are never removed, resolved Ids stay valid
+    private final Map<Topic, Integer> topicIds = new ConcurrentHashMap<>();
 
     public DaoTopic(Connection connection) {
         this.connection = connection;
     }
 
+    /**
+     * Creates a DaoTopic with already resolved Topic-Ids, e.g. from preloadTopicIds() of another DaoTopic on the same Database.
+     * @param connection Connection to query on
+     * @param knownTopicIds Topic-Ids to serve without querying
+     */
+    public DaoTopic(Connection connection, Map<Topic, Integer> knownTopicIds) {
+        this.connection = connection;
+        this.topicIds.putAll(knownTopicIds);
+    }
+
+    /**
+     * Resolves the Ids of all Topics in the Database with a single query and caches them.
+     * @return Map of every existing Topic to its Id
+     * @throws SQLException If the Topic query failed
+     */
+    public Map<Topic, Integer> preloadTopicIds() throws SQLException {
+        String topicQuery = "SELECT id AS topic_id, topicName FROM topic";
+        try (PreparedStatement topicStatement = connection.prepareStatement(topicQuery)) {
+            ResultSet rs = topicStatement.executeQuery();
+            while (rs.next()) {
+                try {
+                    topicIds.put(Topic.valueOf(rs.getString("topicName").toUpperCase()), rs.getInt("topic_id"));
+                } catch (IllegalArgumentException e) {
+                    logger.warning("Unknown topic in Database: " + rs.getString("topicName"));
+                }
+            }
+            rs.close();
+        }
+        return new EnumMap<>(topicIds);
+    }
+
     /**
      * Creates all specified Topic-Enums in the Database
      * (Debug: Topic.MISSING will be ignored.)
@@ -46,7 +82,10 @@ public class DaoTopic {
      * @throws SQLException If Topic lookup Query failed.
      */
     public int getTopicIdByName(Topic topic) throws SQLException {
-        String foreignKeyQuery = "SELECT id AS topic_id FROM topic WHERE topicName LIKE ?";
+        Integer knownTopicId = topicIds.get(topic);
+        if (knownTopicId != null) return knownTopicId;
+
+        String foreignKeyQuery = "SELECT id AS topic_id FROM topic WHERE topicName = ?";
         try (PreparedStatement topicLookUpStatement = connection.prepareStatement(foreignKeyQuery)) {
             topicLookUpStatement.setString(1, topic.toString());
             ResultSet rs = topicLookUpStatement.executeQuery();
@@ -54,6 +93,7 @@ public class DaoTopic {
             int topicId = -1;
             if (rs.next()) {
                 topicId = rs.getInt("topic_id");
+                topicIds.put(topic, topicId);
             }
             rs.close();
 
@@ -0,0 +1,29 @@
+package main.model.repository;
+
+import main.model.entity.dto.QuestionRequest;
+import main.model.entity.dto.QuestionResponse;
+
+/**
+ * Gets notified by DaoQuestion after a write on the question table was committed.
+ * On a TransactionAwareConnection notifications are delivered once the surrounding transaction commits
+ * and are dropped on rollback, other connections notify right after the write.
+ * Delivery is not part of the transaction, a listener failing doesn't undo the committed write.
+ */
+public interface QuestionChangeListener {
+    /**
+     * @param id Primary-Key of the saved Question
+     * @param request QuestionRequest the Question was saved from
+     */
+    void questionSaved(long id, QuestionRequest request);
+
+    /**
+     * @param oldQuestion Question state before the update
+     * @param newQuestion QuestionRequest the Question was updated with
+     */
+    void questionUpdated(QuestionResponse oldQuestion, QuestionRequest newQuestion);
+
+    /**
+     * @param oldQuestion Question state before the deletion
+     */
+    void questionDeleted(QuestionResponse oldQuestion);
+}
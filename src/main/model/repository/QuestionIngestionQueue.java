@@ -0,0 +1,162 @@
+package main.model.repository;
+
+import main.model.entity.dto.QuestionRequest;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind ingestion of Questions: callers enqueue requests and immediately receive a future Id,
+ * a single writer thread saves the queued requests in batches via DaoQuestion.saveQuestions(...).
+ * A batch is flushed once it reaches the flush size or the oldest request waited for the flush latency.
+ * The DaoQuestion must not be used by other threads, as its connection is used by the writer thread.
+ * In autoCommit mode each batch is committed before its futures complete, otherwise it joins the connection's open transaction.
+ * The writer is a daemon thread and doesn't keep the JVM alive. Close the queue (e.g. try-with-resources) to write
+ * the queued requests, a queue still open at JVM shutdown is closed by a shutdown hook.
+ */
+public class QuestionIngestionQueue implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(QuestionIngestionQueue.class.getName());
+
+    private final DaoQuestion daoQuestion;
+    private final BlockingQueue<PendingQuestion> queue;
+    private final int flushSize;
+    private final long flushLatencyNanos;
+    private final long enqueueTimeoutMillis;
+    private final Thread writer;
+    private final Thread shutdownHook;
+    private volatile boolean closed;
+
+    /**
+     * @param daoQuestion DaoQuestion with a connection dedicated to the queue
+     * @param capacity Maximum amount of queued requests before submit(...) blocks
+     * @param flushSize Maximum amount of Questions per batch
+     * @param flushLatency Maximum time a request waits for its batch to fill up
+     * @param enqueueTimeout Maximum time submit(...) blocks on a full queue before rejecting the request
+     */
+    public QuestionIngestionQueue(DaoQuestion daoQuestion, int capacity, int flushSize, Duration flushLatency, Duration enqueueTimeout) {
+        this.daoQuestion = daoQuestion;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flushSize = flushSize;
+        this.flushLatencyNanos = flushLatency.toNanos();
+        this.enqueueTimeoutMillis = enqueueTimeout.toMillis();
+
+        this.writer = new Thread(this::drain, "question-ingestion-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+
+        this.shutdownHook = new Thread(this::close, "question-ingestion-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Enqueues a request to be saved by the writer thread.
+     * Blocks while the queue is full (backpressure), at most for the enqueue timeout.
+     * @param request QuestionRequest to save
+     * @return Future completed with the Question-Id once the batch was committed, or exceptionally if saving failed
+     * @throws RejectedExecutionException If the queue stayed full or was closed
+     * @throws InterruptedException If interrupted while waiting for free capacity
+     */
+    public CompletableFuture<Long> submit(QuestionRequest request) throws InterruptedException {
+        if (closed) throw new RejectedExecutionException("Ingestion queue is closed");
+
+        PendingQuestion pending = new PendingQuestion(request, new CompletableFuture<>());
+        if (!queue.offer(pending, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new RejectedExecutionException("Ingestion queue is full");
+        }
+        //Closed concurrently: the writer may already have finished draining
+        if (closed && queue.remove(pending)) {
+            throw new RejectedExecutionException("Ingestion queue is closed");
+        }
+        return pending.questionId();
+    }
+
+    /**
+     * @return Amount of requests waiting to be written
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting requests, writes every queued request and waits for the writer thread to finish.
+     * If interrupted while waiting, returns with the interrupt flag set and the writer keeps draining in the background.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            //Closed by the shutdown hook, the JVM waits for it to finish draining
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warning("Interrupted while closing, " + queue.size() + " queued Questions are still being written.");
+        }
+    }
+
+    private void drain() {
+        List<PendingQuestion> batch = new ArrayList<>(flushSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                PendingQuestion first = queue.poll(flushLatencyNanos, TimeUnit.NANOSECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushLatencyNanos;
+                while (batch.size() < flushSize) {
+                    PendingQuestion next = closed
+                            ? queue.poll()
+                            : queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                //Only close() ends the writer, so queued requests are never dropped
+                logger.warning("Question ingestion writer interrupted, continuing to drain.");
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingQuestion> batch) {
+        List<QuestionRequest> requests = batch.stream().map(PendingQuestion::request).toList();
+        List<Long> questionIds;
+        try {
+            questionIds = daoQuestion.saveQuestions(requests);
+        } catch (RuntimeException e) {
+            //A faulty request must not end the writer thread, leaving every later future incomplete
+            logger.severe("Failed to save Question batch: " + e);
+            batch.forEach(pending -> pending.questionId().completeExceptionally(e));
+            return;
+        }
+
+        if (questionIds == null) {
+            SQLException failure = new SQLException("Saving the Question batch failed");
+            batch.forEach(pending -> pending.questionId().completeExceptionally(failure));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).questionId().complete(questionIds.get(i));
+        }
+    }
+
+    private record PendingQuestion(
+            QuestionRequest request,
+            CompletableFuture<Long> questionId
+    ){ }
+}
@@ -0,0 +1,50 @@
+package main.model.repository;
+
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionRequest;
+import main.model.entity.dto.QuestionResponse;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Operations on the question bank, implemented by DaoQuestion for a single Database
+ * and by ShardedQuestionRepository for a bank partitioned by topic.
+ */
+public interface QuestionRepository {
+    /**
+     * @return List of all QuestionResponse Objects or empty List if none were found.
+     */
+    List<QuestionResponse> retrieveQuestions();
+
+    /**
+     * @param request QuestionRequest to save
+     * @return Id of the saved Question or null if saving failed
+     */
+    Long saveQuestion(QuestionRequest request);
+
+    /**
+     * @param id The Question-Id to be updated
+     * @param newQuestion QuestionRequest Object to update the Question with
+     * @return success
+     */
+    boolean updateQuestionById(long id, QuestionRequest newQuestion);
+
+    /**
+     * @param id Id of the Question to be removed
+     * @return success
+     */
+    boolean deleteQuestionById(long id);
+
+    /**
+     * @param topic Topic-Enum to search on
+     * @return List of QuestionResponse Objects matching the topic
+     */
+    List<QuestionResponse> searchQuestionByTopic(Topic topic);
+
+    /**
+     * @param id Id of the Question
+     * @return QuestionResponse Object or Empty if the Id was not found.
+     */
+    Optional<QuestionResponse> findQuestionById(long id);
+}
@@ -0,0 +1,209 @@
+package main.model.repository;
+
+import main.model.entity.Response;
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionRequest;
+import main.model.entity.dto.QuestionResponse;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Keeps aggregate counters of the question bank up to date from DaoQuestion writes,
+ * so statistics can be read without querying the Database.
+ * Register via DaoQuestion.addChangeListener(...) and call reconcile() periodically
+ * to correct drift caused by writes bypassing the DAO.
+ * Reconciliation runs on its own connection (e.g. DatabaseConnector.openConnection()), never on the one of a DAO:
+ * it runs on a background thread and would count the uncommitted changes of the DAO's open transaction.
+ */
+public class QuestionStatistics implements QuestionChangeListener {
+    private static final Logger logger = Logger.getLogger(QuestionStatistics.class.getName());
+
+    private final Connection reconciliationConnection;
+    private volatile Counters counters = new Counters();
+    private ScheduledExecutorService reconciliationExecutor;
+
+    /**
+     * @param reconciliationConnection Connection used only by reconcile(), not shared with any DAO
+     */
+    public QuestionStatistics(Connection reconciliationConnection) {
+        this.reconciliationConnection = reconciliationConnection;
+    }
+
+    /**
+     * @param topic Topic of the Questions
+     * @param difficultyRankNumber Difficulty of the Questions
+     * @return Amount of Questions with the specified topic and difficulty
+     */
+    public long countQuestions(Topic topic, int difficultyRankNumber) {
+        LongAdder counter = counters.byTopic.get(topic).get(difficultyRankNumber);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * @param topic Topic of the Questions
+     * @return Amount of Questions per difficultyRankNumber for the specified topic, sorted by difficulty
+     */
+    public Map<Integer, Long> countQuestionsByDifficulty(Topic topic) {
+        return snapshot(counters.byTopic.get(topic));
+    }
+
+    /**
+     * @return Amount of Questions per amount of linked Responses, sorted by the amount of Responses
+     */
+    public Map<Integer, Long> responseCountDistribution() {
+        return snapshot(counters.responseCountDistribution);
+    }
+
+    /**
+     * @return Ratio of correct Responses over all Question-Response links, 0 if no Response exists.
+     */
+    public double correctResponseRatio() {
+        Counters current = counters;
+        long responses = current.responses.sum();
+        return responses == 0 ? 0 : (double) current.correctResponses.sum() / responses;
+    }
+
+    @Override
+    public void questionSaved(long id, QuestionRequest request) {
+        counters.add(request.topic(), request.difficultyRankNumber(), request.responses(), 1);
+    }
+
+    @Override
+    public void questionUpdated(QuestionResponse oldQuestion, QuestionRequest newQuestion) {
+        Counters current = counters;
+        current.add(oldQuestion.topic(), oldQuestion.difficultyRankNumber(), oldQuestion.responses(), -1);
+        current.add(newQuestion.topic(), newQuestion.difficultyRankNumber(), newQuestion.responses(), 1);
+    }
+
+    @Override
+    public void questionDeleted(QuestionResponse oldQuestion) {
+        counters.add(oldQuestion.topic(), oldQuestion.difficultyRankNumber(), oldQuestion.responses(), -1);
+    }
+
+    /**
+     * Recomputes all counters with GROUP BY queries on the reconciliation connection and replaces the current counters.
+     * Only committed Questions are counted. Writes happening while the queries run may be lost until the next reconciliation.
+     * @throws SQLException If one of the aggregate queries failed
+     */
+    public synchronized void reconcile() throws SQLException {
+        String topicDifficultyQuery = "SELECT t.topicName AS topic, q.difficultyRankNumber AS difficulty, COUNT(*) AS amount FROM question q JOIN topic t ON q.topic_id = t.id GROUP BY t.topicName, q.difficultyRankNumber";
+        String responseCountQuery = "SELECT response_amount, COUNT(*) AS amount FROM (SELECT q.id, COUNT(qr.response_id) AS response_amount FROM question q LEFT JOIN question_response qr ON qr.question_id = q.id GROUP BY q.id) per_question GROUP BY response_amount";
+        String correctQuery = "SELECT r.correct, COUNT(*) AS amount FROM question_response qr JOIN response r ON qr.response_id = r.id GROUP BY r.correct";
+
+        //Without autoCommit, end the previous read transaction to see the changes committed since
+        if (!reconciliationConnection.getAutoCommit()) reconciliationConnection.rollback();
+
+        Counters reconciled = new Counters();
+        try (
+                PreparedStatement topicDifficultyStatement = reconciliationConnection.prepareStatement(topicDifficultyQuery);
+                PreparedStatement responseCountStatement = reconciliationConnection.prepareStatement(responseCountQuery);
+                PreparedStatement correctStatement = reconciliationConnection.prepareStatement(correctQuery)
+        ) {
+            ResultSet rs = topicDifficultyStatement.executeQuery();
+            while (rs.next()) {
+                Topic topic = Topic.valueOf(rs.getString("topic").toUpperCase());
+                increment(reconciled.byTopic.get(topic), rs.getInt("difficulty"), rs.getLong("amount"));
+            }
+            rs.close();
+
+            rs = responseCountStatement.executeQuery();
+            while (rs.next()) {
+                increment(reconciled.responseCountDistribution, rs.getInt("response_amount"), rs.getLong("amount"));
+            }
+            rs.close();
+
+            rs = correctStatement.executeQuery();
+            while (rs.next()) {
+                long amount = rs.getLong("amount");
+                reconciled.responses.add(amount);
+                if (rs.getBoolean("correct")) reconciled.correctResponses.add(amount);
+            }
+            rs.close();
+        }
+        counters = reconciled;
+    }
+
+    /**
+     * Runs reconcile() in the specified interval on a background thread, starting immediately.
+     * @param period Interval between reconciliations
+     */
+    public synchronized void startReconciliation(Duration period) {
+        if (reconciliationExecutor != null) return;
+
+        reconciliationExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "question-statistics-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciliationExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (SQLException | IllegalArgumentException e) {
+                logger.severe("Failed to reconcile Question statistics: " + e.getMessage());
+            }
+        }, 0, period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic reconciliation started with startReconciliation(Duration).
+     */
+    public synchronized void stopReconciliation() {
+        if (reconciliationExecutor == null) return;
+
+        reconciliationExecutor.shutdownNow();
+        reconciliationExecutor = null;
+    }
+
+    private static void increment(ConcurrentHashMap<Integer, LongAdder> counter, int key, long amount) {
+        counter.computeIfAbsent(key, k -> new LongAdder()).add(amount);
+    }
+
+    private static Map<Integer, Long> snapshot(Map<Integer, LongAdder> counter) {
+        Map<Integer, Long> snapshot = new TreeMap<>();
+        counter.forEach((key, value) -> {
+            long amount = value.sum();
+            if (amount != 0) snapshot.put(key, amount);
+        });
+        return snapshot;
+    }
+
+    private static final class Counters {
+        private final Map<Topic, ConcurrentHashMap<Integer, LongAdder>> byTopic = new EnumMap<>(Topic.class);
+        private final ConcurrentHashMap<Integer, LongAdder> responseCountDistribution = new ConcurrentHashMap<>();
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder correctResponses = new LongAdder();
+
+        private Counters() {
+            for (Topic topic : Topic.values()) {
+                byTopic.put(topic, new ConcurrentHashMap<>());
+            }
+        }
+
+        private void add(Topic topic, int difficultyRankNumber, List<Response> questionResponses, int sign) {
+            // question_response links every Response once, the reconcile queries count links
+            Set<Response> linkedResponses = new HashSet<>(questionResponses);
+            increment(byTopic.get(topic), difficultyRankNumber, sign);
+            increment(responseCountDistribution, linkedResponses.size(), sign);
+
+            long correct = linkedResponses.stream().filter(Response::correct).count();
+            responses.add((long) sign * linkedResponses.size());
+            correctResponses.add(sign * correct);
+        }
+    }
+}
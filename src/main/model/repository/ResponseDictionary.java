@@ -0,0 +1,106 @@
+package main.model.repository;
+
+import main.model.entity.Response;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps response Ids to one canonical Response instance, so Questions sharing a Response
+ * (e.g. "True", "False") share the same object instead of holding a copy per row.
+ * Response rows are never modified, which makes the Id a stable key.
+ * Retention is bounded by approximate LRU (CLOCK): once maxEntries Responses are held, a clock hand sweeps the cached
+ * Ids in insertion order and drops the first Response not looked up since the hand last passed it.
+ * Lookups only set a flag and don't block each other, only caching a new Response is serialized.
+ * Response Ids are only unique within one database, so a dictionary must not be shared between databases (e.g. shards).
+ */
+public class ResponseDictionary {
+    private final int maxEntries;
+    private final ConcurrentHashMap<Long, Entry> responses = new ConcurrentHashMap<>();
+
+    //Cached Ids in the order the clock hand visits them, guarded by the dictionary
+    private long[] clock = new long[16];
+    private int clockSize;
+    private int hand;
+
+    private static final class Entry {
+        private final Response response;
+        private volatile boolean referenced;
+
+        private Entry(Response response) {
+            this.response = response;
+        }
+    }
+
+    public ResponseDictionary(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param responseId Primary-Key of the Response
+     * @return The canonical Response or null if it isn't cached
+     */
+    public Response find(long responseId) {
+        Entry entry = responses.get(responseId);
+        if (entry == null) return null;
+
+        //Skip the write if already set, keeping the entry's cache line shared between readers
+        if (!entry.referenced) entry.referenced = true;
+        return entry.response;
+    }
+
+    /**
+     * Returns the canonical instance for the Response, caching the given instance if none exists yet.
+     * @param responseId Primary-Key of the Response
+     * @param response Response read for the Id
+     * @return The canonical Response
+     */
+    public Response canonicalize(long responseId, Response response) {
+        Response cached = find(responseId);
+        if (cached != null) return cached;
+        if (maxEntries <= 0) return response;
+
+        synchronized (this) {
+            cached = find(responseId);
+            if (cached != null) return cached;
+
+            if (clockSize < maxEntries) {
+                if (clockSize == clock.length) clock = Arrays.copyOf(clock, Math.min(maxEntries, clock.length * 2));
+                clock[clockSize++] = responseId;
+            } else {
+                clock[evictSlot()] = responseId;
+            }
+            responses.put(responseId, new Entry(response));
+            return response;
+        }
+    }
+
+    public int size() {
+        return responses.size();
+    }
+
+    public synchronized void clear() {
+        responses.clear();
+        clockSize = 0;
+        hand = 0;
+    }
+
+    /**
+     * Advances the clock hand to the first Response not looked up since the last pass, giving the others a second chance.
+     * @return Clock slot of the dropped Response
+     */
+    private int evictSlot() {
+        while (true) {
+            int slot = hand;
+            hand = (hand + 1) % clockSize;
+
+            Entry entry = responses.get(clock[slot]);
+            if (entry != null && entry.referenced) {
+                entry.referenced = false;
+                continue;
+            }
+            responses.remove(clock[slot]);
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package main.model.repository;
+
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionRequest;
+import main.model.entity.dto.QuestionResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Question bank partitioned over several Databases (shards) by topic.
+ * Every Question of a topic lives on the same shard, the shard index is encoded into the
+ * upper bits of the returned Question-Ids, so look-ups by Id are routed without a directory.
+ * The topic placement is an explicit map (SHARD_TOPICS, see DatabaseConnector.getShardTopics()),
+ * it must not change once Questions were saved.
+ * Each shard is a QuestionRepository on its own connection, e.g. a DaoQuestion per Database from
+ * DatabaseConnector.getShardConnections(). Response Ids overlap between shards,
+ * so the DaoQuestions must not share a ResponseDictionary.
+ */
+public class ShardedQuestionRepository implements QuestionRepository, AutoCloseable {
+    private static final Logger logger = Logger.getLogger(ShardedQuestionRepository.class.getName());
+
+    //Local Ids are INT columns, the shard index is stored above them
+    private static final int SHARD_SHIFT = 40;
+    private static final long LOCAL_ID_MASK = (1L << SHARD_SHIFT) - 1;
+
+    private final List<QuestionRepository> shards;
+    private final Map<Topic, Integer> topicShards;
+    private final ExecutorService executor;
+
+    /**
+     * Places the topics by their name, see defaultTopicShards(...).
+     */
+    public ShardedQuestionRepository(List<QuestionRepository> shards) {
+        this(shards, defaultTopicShards(shards.size()));
+    }
+
+    /**
+     * @param shards Shards in configuration order, the index is part of the Question-Ids
+     * @param topicShards Shard index per Topic, e.g. DatabaseConnector.getShardTopics().
+     *                    Topics missing in the map are placed by defaultTopicShards(...)
+     * @throws IllegalArgumentException If there are no shards or a Topic is mapped to a missing shard
+     */
+    public ShardedQuestionRepository(List<QuestionRepository> shards, Map<Topic, Integer> topicShards) {
+        if (shards.isEmpty()) throw new IllegalArgumentException("At least one shard is required");
+        Map<Topic, Integer> placement = defaultTopicShards(shards.size());
+        placement.putAll(topicShards);
+        placement.forEach((topic, shard) -> {
+            if (shard < 0 || shard >= shards.size()) {
+                throw new IllegalArgumentException("Topic " + topic + " is mapped to missing shard " + shard);
+            }
+        });
+        this.shards = List.copyOf(shards);
+        this.topicShards = placement;
+        this.executor = Executors.newFixedThreadPool(this.shards.size(), runnable -> {
+            Thread thread = new Thread(runnable, "question-shard-query");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param topic Topic of the Question
+     * @return Index of the shard holding all Questions of the topic
+     */
+    public int shardFor(Topic topic) {
+        return topicShards.get(topic);
+    }
+
+    /**
+     * Places every Topic by the CRC32 of its name, which is stable across releases and JVMs
+     * as long as the topic is not renamed, unlike the declaration order of the enum.
+     * @param shardCount Amount of shards
+     * @return Shard index per Topic
+     */
+    public static Map<Topic, Integer> defaultTopicShards(int shardCount) {
+        Map<Topic, Integer> topicShards = new EnumMap<>(Topic.class);
+        if (shardCount <= 0) return topicShards;
+        for (Topic topic : Topic.values()) {
+            CRC32 checksum = new CRC32();
+            checksum.update(topic.name().getBytes(StandardCharsets.US_ASCII));
+            topicShards.put(topic, (int) (checksum.getValue() % shardCount));
+        }
+        return topicShards;
+    }
+
+    /**
+     * Queries all shards in parallel and merges their Questions.
+     * A shard failing with an exception is logged and skipped, like a DaoQuestion returns no Questions on failure.
+     * @return List of all QuestionResponse Objects or empty List if none were found.
+     */
+    @Override
+    public List<QuestionResponse> retrieveQuestions() {
+        List<CompletableFuture<List<QuestionResponse>>> shardResults = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            int shardIndex = shard;
+            shardResults.add(CompletableFuture
+                    .supplyAsync(() -> toGlobal(shardIndex, shards.get(shardIndex).retrieveQuestions()), executor)
+                    .exceptionally(e -> {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        logger.severe("Failed to retrieve the Questions of shard " + shardIndex + ", skipping it: " + cause);
+                        return List.of();
+                    }));
+        }
+
+        List<QuestionResponse> questions = new ArrayList<>();
+        shardResults.forEach(result -> questions.addAll(result.join()));
+        return questions;
+    }
+
+    @Override
+    public Long saveQuestion(QuestionRequest request) {
+        int shard = shardFor(request.topic());
+        Long localId = shards.get(shard).saveQuestion(request);
+        return localId == null ? null : toGlobalId(shard, localId);
+    }
+
+    /**
+     * Updates a Question on its shard.
+     * Changing the topic to one stored on another shard is not supported, as it would change the Question-Id.
+     * @param id The Question-Id to be updated
+     * @param newQuestion QuestionRequest Object to update the Question with
+     * @return success
+     */
+    @Override
+    public boolean updateQuestionById(long id, QuestionRequest newQuestion) {
+        int shard = shardOf(id);
+        if (shard >= shards.size()) return false;
+        if (shardFor(newQuestion.topic()) != shard) {
+            logger.severe("Question Update failed, topic change moves the Question to another shard. Id:" + id);
+            return false;
+        }
+        return shards.get(shard).updateQuestionById(localIdOf(id), newQuestion);
+    }
+
+    @Override
+    public boolean deleteQuestionById(long id) {
+        int shard = shardOf(id);
+        return shard < shards.size() && shards.get(shard).deleteQuestionById(localIdOf(id));
+    }
+
+    @Override
+    public List<QuestionResponse> searchQuestionByTopic(Topic topic) {
+        int shard = shardFor(topic);
+        return toGlobal(shard, shards.get(shard).searchQuestionByTopic(topic));
+    }
+
+    @Override
+    public Optional<QuestionResponse> findQuestionById(long id) {
+        int shard = shardOf(id);
+        if (shard >= shards.size()) return Optional.empty();
+        return shards.get(shard).findQuestionById(localIdOf(id)).map(question -> toGlobal(shard, question));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static long toGlobalId(int shard, long localId) {
+        return ((long) shard << SHARD_SHIFT) | localId;
+    }
+
+    private static int shardOf(long globalId) {
+        return (int) (globalId >>> SHARD_SHIFT);
+    }
+
+    private static long localIdOf(long globalId) {
+        return globalId & LOCAL_ID_MASK;
+    }
+
+    private static List<QuestionResponse> toGlobal(int shard, List<QuestionResponse> questions) {
+        List<QuestionResponse> globalQuestions = new ArrayList<>(questions.size());
+        questions.forEach(question -> globalQuestions.add(toGlobal(shard, question)));
+        return globalQuestions;
+    }
+
+    private static QuestionResponse toGlobal(int shard, QuestionResponse question) {
+        return new QuestionResponse(
+                toGlobalId(shard, question.id()),
+                question.topic(),
+                question.difficultyRankNumber(),
+                question.content(),
+                question.responses()
+        );
+    }
+}
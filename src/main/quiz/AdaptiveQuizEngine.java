@@ -0,0 +1,407 @@
+package main.quiz;
+
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionRequest;
+import main.model.entity.dto.QuestionResponse;
+import main.model.repository.QuestionChangeListener;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.UnaryOperator;
+import java.util.logging.Logger;
+
+/**
+ * Serves adaptive quizzes: the next Question of a session is the unseen Question of the session topic
+ * whose difficultyRankNumber is closest to the running skill estimate of the user.
+ * Skill is estimated with a Rasch (1PL IRT) model updated Elo-style after each answer.
+ * Questions are held in a per-topic DifficultyIndex, register the engine via
+ * DaoQuestion.addChangeListener(...) to keep the index in sync with the Database.
+ * Changes only copy one chunk of the affected topic index and topics are updated independently without locking.
+ * Run startReconciliation(...) on its own connection to correct drift caused by writes bypassing the DAO,
+ * changes arriving while a rebuild reads the Database are replayed onto the rebuilt index before it is published.
+ * Sessions are kept in striped SessionTables of primitive arrays, sized for millions of concurrent users.
+ */
+public class AdaptiveQuizEngine implements QuestionChangeListener {
+    private static final Logger logger = Logger.getLogger(AdaptiveQuizEngine.class.getName());
+    private static final Topic[] TOPICS = Topic.values();
+    private static final float DEFAULT_LEARNING_RATE = 0.5f;
+    //Sessions are spread over 2^SESSION_STRIPE_BITS independently locked tables
+    private static final int SESSION_STRIPE_BITS = 6;
+
+    private final AtomicReferenceArray<TopicIndex> indexByTopic = new AtomicReferenceArray<>(TOPICS.length);
+    private final Set<IndexBuilder> activeBuilders = ConcurrentHashMap.newKeySet();
+    private final SessionTable[] sessionTables = new SessionTable[1 << SESSION_STRIPE_BITS];
+    private final long idleTimeoutMillis;
+    private final float learningRate;
+    private ScheduledExecutorService evictionExecutor;
+    private ScheduledExecutorService reconciliationExecutor;
+
+    public AdaptiveQuizEngine(Duration idleTimeout) {
+        this(idleTimeout, DEFAULT_LEARNING_RATE);
+    }
+
+    /**
+     * @param idleTimeout Time after the last access a session gets evicted
+     * @param learningRate Factor the skill estimate moves by per surprising answer (Elo K-factor)
+     */
+    public AdaptiveQuizEngine(Duration idleTimeout, float learningRate) {
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.learningRate = learningRate;
+        for (int i = 0; i < TOPICS.length; i++) {
+            indexByTopic.set(i, new TopicIndex(DifficultyIndex.EMPTY, 0));
+        }
+        for (int i = 0; i < sessionTables.length; i++) {
+            sessionTables[i] = new SessionTable();
+        }
+    }
+
+    /**
+     * Index of one topic with the amount of changes applied to it since the engine was created.
+     * A rebuild compares versions to find the changes it has to replay.
+     */
+    private record TopicIndex(DifficultyIndex index, long version) {}
+
+    /**
+     * Replaces the indexed Questions with the specified Questions, e.g. from DaoQuestion.retrieveQuestions()
+     * @param questions List of QuestionResponse Objects to index
+     */
+    public void load(List<QuestionResponse> questions) {
+        try (IndexBuilder builder = new IndexBuilder()) {
+            questions.forEach(question -> builder.add(question.topic(), question.difficultyRankNumber(), question.id()));
+            builder.publish();
+        }
+    }
+
+    /**
+     * Replaces the indexed Questions with the committed Questions of the Database.
+     * Only reads id, topic and difficulty, which keeps it cheap enough to run periodically.
+     * @param reconciliationConnection Connection not shared with a DAO, so uncommitted changes aren't indexed
+     * @throws SQLException If the query failed, the index is left unchanged
+     */
+    public void reconcile(Connection reconciliationConnection) throws SQLException {
+        String query = "SELECT q.id, t.topicName AS topic, q.difficultyRankNumber AS difficulty FROM question q JOIN topic t ON q.topic_id = t.id";
+
+        //Without autoCommit, end the previous read transaction to see the changes committed since
+        if (!reconciliationConnection.getAutoCommit()) reconciliationConnection.rollback();
+
+        try (IndexBuilder builder = new IndexBuilder();
+             PreparedStatement statement = reconciliationConnection.prepareStatement(query)) {
+            ResultSet rs = statement.executeQuery();
+            while (rs.next()) {
+                builder.add(Topic.valueOf(rs.getString("topic").toUpperCase()), rs.getInt("difficulty"), rs.getLong("id"));
+            }
+            rs.close();
+            builder.publish();
+        }
+    }
+
+    /**
+     * Runs reconcile(Connection) in the specified interval on a background thread.
+     * @param reconciliationConnection Connection used only for reconciliation
+     * @param period Interval between reconciliations
+     */
+    public synchronized void startReconciliation(Connection reconciliationConnection, Duration period) {
+        if (reconciliationExecutor != null) return;
+
+        reconciliationExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quiz-index-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciliationExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile(reconciliationConnection);
+            } catch (SQLException | IllegalArgumentException e) {
+                logger.severe("Failed to reconcile quiz index: " + e.getMessage());
+            }
+        }, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic reconciliation started with startReconciliation(...).
+     */
+    public synchronized void stopReconciliation() {
+        if (reconciliationExecutor == null) return;
+
+        reconciliationExecutor.shutdownNow();
+        reconciliationExecutor = null;
+    }
+
+    /**
+     * Starts (or restarts) the quiz session of a user.
+     * The skill estimate starts at the median difficulty of the topic.
+     * @param userId Identifier of the user
+     * @param topic Topic the questions are served from
+     */
+    public void startSession(long userId, Topic topic) {
+        float initialSkill = indexByTopic.get(topic.ordinal()).index().medianDifficulty();
+        SessionTable table = tableOf(userId);
+        synchronized (table) {
+            table.start(userId, (byte) topic.ordinal(), initialSkill, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Selects the unseen Question closest to the current skill estimate of the user and marks it as served.
+     * @param userId Identifier of the user
+     * @return Question-Id or empty if the session doesn't exist or all questions of the topic were served
+     */
+    public OptionalLong nextQuestion(long userId) {
+        SessionTable table = tableOf(userId);
+        synchronized (table) {
+            int slot = table.slotOf(userId);
+            if (slot < 0) return OptionalLong.empty();
+
+            table.touch(slot, System.currentTimeMillis());
+            DifficultyIndex index = indexByTopic.get(table.topicOrdinal(slot)).index();
+            int position = findClosestUnserved(index, table, slot);
+            if (position < 0) return OptionalLong.empty();
+
+            long questionId = index.idAt(position);
+            table.markServed(slot, questionId);
+            table.setPending(slot, questionId, index.difficultyAt(position));
+            return OptionalLong.of(questionId);
+        }
+    }
+
+    /**
+     * Updates the skill estimate of the user with the answer to the last served Question.
+     * @param userId Identifier of the user
+     * @param correct Whether the answer was correct
+     * @return success, false if the session doesn't exist or no question is pending
+     */
+    public boolean recordAnswer(long userId, boolean correct) {
+        SessionTable table = tableOf(userId);
+        synchronized (table) {
+            int slot = table.slotOf(userId);
+            if (slot < 0 || table.pendingQuestionId(slot) < 0) return false;
+            table.touch(slot, System.currentTimeMillis());
+
+            //Probability of a correct answer given skill and difficulty (Rasch model)
+            float skill = table.skill(slot);
+            double expected = 1 / (1 + Math.exp(table.pendingDifficulty(slot) - skill));
+            table.setSkill(slot, skill + (float) (learningRate * ((correct ? 1 : 0) - expected)));
+            table.setPending(slot, -1, 0);
+            return true;
+        }
+    }
+
+    /**
+     * @param userId Identifier of the user
+     * @return Current skill estimate on the difficultyRankNumber scale or NaN if the session doesn't exist
+     */
+    public double skillOf(long userId) {
+        SessionTable table = tableOf(userId);
+        synchronized (table) {
+            int slot = table.slotOf(userId);
+            return slot < 0 ? Double.NaN : table.skill(slot);
+        }
+    }
+
+    public void endSession(long userId) {
+        SessionTable table = tableOf(userId);
+        synchronized (table) {
+            table.remove(userId);
+        }
+    }
+
+    public int sessionCount() {
+        int count = 0;
+        for (SessionTable table : sessionTables) {
+            synchronized (table) {
+                count += table.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes all sessions which were not accessed within the idle timeout.
+     * @return Amount of evicted sessions
+     */
+    public int evictIdleSessions() {
+        long deadline = System.currentTimeMillis() - idleTimeoutMillis;
+        int evicted = 0;
+        for (SessionTable table : sessionTables) {
+            synchronized (table) {
+                evicted += table.removeIdle(deadline);
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * @return Table holding the session of the user, picked by the high bits of the hash the table doesn't use
+     */
+    private SessionTable tableOf(long userId) {
+        return sessionTables[(int) (SessionTable.mix(userId) >>> (Long.SIZE - SESSION_STRIPE_BITS))];
+    }
+
+    /**
+     * Runs evictIdleSessions() in the specified interval on a background thread.
+     * @param period Interval between evictions
+     */
+    public synchronized void startEviction(Duration period) {
+        if (evictionExecutor != null) return;
+
+        evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quiz-session-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictionExecutor.scheduleWithFixedDelay(this::evictIdleSessions, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic eviction started with startEviction(Duration).
+     */
+    public synchronized void stopEviction() {
+        if (evictionExecutor == null) return;
+
+        evictionExecutor.shutdownNow();
+        evictionExecutor = null;
+    }
+
+    @Override
+    public void questionSaved(long id, QuestionRequest request) {
+        updateIndex(request.topic(), index -> index.with(id, request.difficultyRankNumber()));
+    }
+
+    @Override
+    public void questionUpdated(QuestionResponse oldQuestion, QuestionRequest newQuestion) {
+        updateIndex(oldQuestion.topic(), index -> index.without(oldQuestion.id(), oldQuestion.difficultyRankNumber()));
+        updateIndex(newQuestion.topic(), index -> index.with(oldQuestion.id(), newQuestion.difficultyRankNumber()));
+    }
+
+    @Override
+    public void questionDeleted(QuestionResponse oldQuestion) {
+        updateIndex(oldQuestion.topic(), index -> index.without(oldQuestion.id(), oldQuestion.difficultyRankNumber()));
+    }
+
+    /**
+     * Applies the change to the current index of the topic, retrying if another change replaced it meanwhile.
+     * Rebuilds in progress record the change to replay it onto the index they are building.
+     */
+    private void updateIndex(Topic topic, UnaryOperator<DifficultyIndex> change) {
+        int ordinal = topic.ordinal();
+        TopicIndex current;
+        TopicIndex updated;
+        do {
+            current = indexByTopic.get(ordinal);
+            updated = new TopicIndex(change.apply(current.index()), current.version() + 1);
+        } while (!indexByTopic.compareAndSet(ordinal, current, updated));
+
+        for (IndexBuilder builder : activeBuilders) {
+            builder.record(ordinal, updated.version(), change);
+        }
+    }
+
+    /**
+     * Collects Questions per topic into growing primitive arrays and publishes them as new indexes.
+     * The builder registers itself on creation and remembers the version of every topic index. Changes applied
+     * after that may be missing from the collected Questions, publish() replays them onto the built index and
+     * only replaces the topic index once every change up to the current version was replayed.
+     * Replaying is safe for changes already collected, DifficultyIndex.with/without leave present/absent entries alone.
+     */
+    private final class IndexBuilder implements AutoCloseable {
+        private final int[][] difficulties = new int[TOPICS.length][16];
+        private final long[][] ids = new long[TOPICS.length][16];
+        private final int[] sizes = new int[TOPICS.length];
+        private final long[] startVersions = new long[TOPICS.length];
+        //Changes applied since the builder started per topic, keyed by the version they produced
+        private final List<NavigableMap<Long, UnaryOperator<DifficultyIndex>>> missedChanges = new ArrayList<>();
+
+        private IndexBuilder() {
+            //Register before reading the versions, so every change with a later version gets recorded
+            activeBuilders.add(this);
+            for (int i = 0; i < TOPICS.length; i++) {
+                startVersions[i] = indexByTopic.get(i).version();
+                missedChanges.add(new TreeMap<>());
+            }
+        }
+
+        private void add(Topic topic, int difficulty, long id) {
+            int ordinal = topic.ordinal();
+            int size = sizes[ordinal];
+            if (size == ids[ordinal].length) {
+                difficulties[ordinal] = Arrays.copyOf(difficulties[ordinal], size * 2);
+                ids[ordinal] = Arrays.copyOf(ids[ordinal], size * 2);
+            }
+            difficulties[ordinal][size] = difficulty;
+            ids[ordinal][size] = id;
+            sizes[ordinal]++;
+        }
+
+        private synchronized void record(int ordinal, long version, UnaryOperator<DifficultyIndex> change) {
+            missedChanges.get(ordinal).put(version, change);
+        }
+
+        private void publish() {
+            for (int i = 0; i < TOPICS.length; i++) {
+                DifficultyIndex built = DifficultyIndex.of(difficulties[i], ids[i], sizes[i]);
+                while (true) {
+                    TopicIndex current = indexByTopic.get(i);
+                    DifficultyIndex merged = replayMissedChanges(i, built, current.version());
+                    //A change with an older version is still being recorded
+                    if (merged == null) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    if (indexByTopic.compareAndSet(i, current, new TopicIndex(merged, current.version()))) break;
+                }
+            }
+        }
+
+        /**
+         * @return Built index with the changes after the start version up to the version applied, null if one wasn't recorded yet
+         */
+        private synchronized DifficultyIndex replayMissedChanges(int ordinal, DifficultyIndex built, long version) {
+            SortedMap<Long, UnaryOperator<DifficultyIndex>> changes = missedChanges.get(ordinal).subMap(startVersions[ordinal], false, version, true);
+            if (changes.size() != version - startVersions[ordinal]) return null;
+
+            DifficultyIndex merged = built;
+            for (UnaryOperator<DifficultyIndex> change : changes.values()) {
+                merged = change.apply(merged);
+            }
+            return merged;
+        }
+
+        @Override
+        public void close() {
+            activeBuilders.remove(this);
+        }
+    }
+
+    /**
+     * Walks outwards from the target difficulty in both directions and picks the closest unserved entry.
+     * @return Position within the index or -1 if every entry was served
+     */
+    private static int findClosestUnserved(DifficultyIndex index, SessionTable table, int slot) {
+        int target = Math.round(table.skill(slot));
+        int above = index.lowerBound(target);
+        int below = above - 1;
+
+        while (above < index.size() && table.wasServed(slot, index.idAt(above))) above++;
+        while (below >= 0 && table.wasServed(slot, index.idAt(below))) below--;
+
+        if (above >= index.size()) return below;
+        if (below < 0) return above;
+        return index.difficultyAt(above) - target <= target - index.difficultyAt(below) ? above : below;
+    }
+}
@@ -0,0 +1,252 @@
+package main.quiz;
+
+import java.util.Arrays;
+
+/**
+ * Immutable index of the Questions of one topic, sorted by difficultyRankNumber and id.
+ * Entries are kept in chunks of parallel primitive arrays to stay compact for large question banks;
+ * adding or removing a Question copies a single chunk and the chunk table instead of the whole index.
+ */
+final class DifficultyIndex {
+    static final int CHUNK_SIZE = 512;
+    static final DifficultyIndex EMPTY = new DifficultyIndex(new Chunk[0]);
+
+    private final Chunk[] chunks;
+    //Position of the first entry of each chunk
+    private final int[] chunkStarts;
+    private final int size;
+
+    private static final class Chunk {
+        private final int[] difficulties;
+        private final long[] ids;
+
+        private Chunk(int[] difficulties, long[] ids) {
+            this.difficulties = difficulties;
+            this.ids = ids;
+        }
+
+        private int size() {
+            return ids.length;
+        }
+
+        /**
+         * @return Offset of the first entry not ordered before (difficulty, id)
+         */
+        private int lowerBound(int difficulty, long id) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(difficulties[mid], ids[mid], difficulty, id) < 0) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        private boolean isLastBefore(int difficulty, long id) {
+            int last = ids.length - 1;
+            return compare(difficulties[last], ids[last], difficulty, id) < 0;
+        }
+    }
+
+    private DifficultyIndex(Chunk[] chunks) {
+        this.chunks = chunks;
+        this.chunkStarts = new int[chunks.length];
+        int position = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            chunkStarts[i] = position;
+            position += chunks[i].size();
+        }
+        this.size = position;
+    }
+
+    /**
+     * Builds an index from unsorted parallel arrays.
+     * @param difficulties difficultyRankNumber per Question
+     * @param ids Question-Id per Question
+     * @param size Amount of valid entries in both arrays
+     * @return Sorted DifficultyIndex
+     */
+    static DifficultyIndex of(int[] difficulties, long[] ids, int size) {
+        //Sort by a packed (difficulty, position) key, avoiding boxed comparators
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) difficulties[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] sortedDifficulties = new int[size];
+        long[] sortedIds = new long[size];
+        for (int i = 0; i < size; i++) {
+            int position = (int) keys[i];
+            sortedDifficulties[i] = difficulties[position];
+            sortedIds[i] = ids[position];
+        }
+        //Within a run of equal difficulty, order by id
+        for (int runStart = 0, i = 1; i <= size; i++) {
+            if (i == size || sortedDifficulties[i] != sortedDifficulties[runStart]) {
+                Arrays.sort(sortedIds, runStart, i);
+                runStart = i;
+            }
+        }
+
+        Chunk[] chunks = new Chunk[(size + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        for (int i = 0; i < chunks.length; i++) {
+            int from = i * CHUNK_SIZE;
+            int to = Math.min(size, from + CHUNK_SIZE);
+            chunks[i] = new Chunk(Arrays.copyOfRange(sortedDifficulties, from, to), Arrays.copyOfRange(sortedIds, from, to));
+        }
+        return new DifficultyIndex(chunks);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int difficultyAt(int position) {
+        int chunk = chunkAt(position);
+        return chunks[chunk].difficulties[position - chunkStarts[chunk]];
+    }
+
+    long idAt(int position) {
+        int chunk = chunkAt(position);
+        return chunks[chunk].ids[position - chunkStarts[chunk]];
+    }
+
+    /**
+     * @return Difficulty in the middle of the index, 0 if the index is empty
+     */
+    int medianDifficulty() {
+        return size == 0 ? 0 : difficultyAt(size / 2);
+    }
+
+    /**
+     * @return Position of the first entry with a difficulty of at least the specified difficulty
+     */
+    int lowerBound(int difficulty) {
+        return lowerBound(difficulty, Long.MIN_VALUE);
+    }
+
+    /**
+     * @return Position of the specified Question or -1 if it isn't indexed
+     */
+    int positionOf(long id, int difficulty) {
+        int position = lowerBound(difficulty, id);
+        return position < size && difficultyAt(position) == difficulty && idAt(position) == id ? position : -1;
+    }
+
+    /**
+     * @return Copy of this index including the specified Question or this index if it is already indexed
+     */
+    DifficultyIndex with(long id, int difficulty) {
+        if (chunks.length == 0) {
+            return new DifficultyIndex(new Chunk[]{new Chunk(new int[]{difficulty}, new long[]{id})});
+        }
+        //Insert into the first chunk not entirely ordered before the entry, or append to the last one
+        int chunkIndex = Math.min(firstChunkNotBefore(difficulty, id), chunks.length - 1);
+        Chunk chunk = chunks[chunkIndex];
+        int offset = chunk.lowerBound(difficulty, id);
+        if (offset < chunk.size() && chunk.difficulties[offset] == difficulty && chunk.ids[offset] == id) return this;
+
+        int chunkSize = chunk.size();
+        int[] newDifficulties = new int[chunkSize + 1];
+        long[] newIds = new long[chunkSize + 1];
+        System.arraycopy(chunk.difficulties, 0, newDifficulties, 0, offset);
+        System.arraycopy(chunk.ids, 0, newIds, 0, offset);
+        newDifficulties[offset] = difficulty;
+        newIds[offset] = id;
+        System.arraycopy(chunk.difficulties, offset, newDifficulties, offset + 1, chunkSize - offset);
+        System.arraycopy(chunk.ids, offset, newIds, offset + 1, chunkSize - offset);
+
+        if (newIds.length <= 2 * CHUNK_SIZE) {
+            Chunk[] newChunks = chunks.clone();
+            newChunks[chunkIndex] = new Chunk(newDifficulties, newIds);
+            return new DifficultyIndex(newChunks);
+        }
+
+        //Split an oversized chunk in halves
+        int half = newIds.length / 2;
+        Chunk[] newChunks = new Chunk[chunks.length + 1];
+        System.arraycopy(chunks, 0, newChunks, 0, chunkIndex);
+        newChunks[chunkIndex] = new Chunk(Arrays.copyOfRange(newDifficulties, 0, half), Arrays.copyOfRange(newIds, 0, half));
+        newChunks[chunkIndex + 1] = new Chunk(
+                Arrays.copyOfRange(newDifficulties, half, newIds.length),
+                Arrays.copyOfRange(newIds, half, newIds.length)
+        );
+        System.arraycopy(chunks, chunkIndex + 1, newChunks, chunkIndex + 2, chunks.length - chunkIndex - 1);
+        return new DifficultyIndex(newChunks);
+    }
+
+    /**
+     * @return Copy of this index without the specified Question or this index if it isn't indexed
+     */
+    DifficultyIndex without(long id, int difficulty) {
+        int chunkIndex = firstChunkNotBefore(difficulty, id);
+        if (chunkIndex == chunks.length) return this;
+        Chunk chunk = chunks[chunkIndex];
+        int offset = chunk.lowerBound(difficulty, id);
+        if (chunk.difficulties[offset] != difficulty || chunk.ids[offset] != id) return this;
+
+        int chunkSize = chunk.size();
+        if (chunkSize == 1) {
+            Chunk[] newChunks = new Chunk[chunks.length - 1];
+            System.arraycopy(chunks, 0, newChunks, 0, chunkIndex);
+            System.arraycopy(chunks, chunkIndex + 1, newChunks, chunkIndex, chunks.length - chunkIndex - 1);
+            return new DifficultyIndex(newChunks);
+        }
+
+        int[] newDifficulties = new int[chunkSize - 1];
+        long[] newIds = new long[chunkSize - 1];
+        System.arraycopy(chunk.difficulties, 0, newDifficulties, 0, offset);
+        System.arraycopy(chunk.ids, 0, newIds, 0, offset);
+        System.arraycopy(chunk.difficulties, offset + 1, newDifficulties, offset, chunkSize - offset - 1);
+        System.arraycopy(chunk.ids, offset + 1, newIds, offset, chunkSize - offset - 1);
+
+        Chunk[] newChunks = chunks.clone();
+        newChunks[chunkIndex] = new Chunk(newDifficulties, newIds);
+        return new DifficultyIndex(newChunks);
+    }
+
+    /**
+     * @return Position of the first entry not ordered before (difficulty, id)
+     */
+    private int lowerBound(int difficulty, long id) {
+        int chunkIndex = firstChunkNotBefore(difficulty, id);
+        if (chunkIndex == chunks.length) return size;
+        return chunkStarts[chunkIndex] + chunks[chunkIndex].lowerBound(difficulty, id);
+    }
+
+    /**
+     * @return Index of the first chunk whose last entry is not ordered before (difficulty, id), chunks.length if none
+     */
+    private int firstChunkNotBefore(int difficulty, long id) {
+        int low = 0;
+        int high = chunks.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (chunks[mid].isLastBefore(difficulty, id)) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * @return Index of the chunk holding the entry at the position
+     */
+    private int chunkAt(int position) {
+        if (position < 0 || position >= size) throw new IndexOutOfBoundsException(position);
+        int low = 0;
+        int high = chunks.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (chunkStarts[mid] <= position) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    private static int compare(int difficulty, long id, int otherDifficulty, long otherId) {
+        int byDifficulty = Integer.compare(difficulty, otherDifficulty);
+        return byDifficulty != 0 ? byDifficulty : Long.compare(id, otherId);
+    }
+}
@@ -0,0 +1,225 @@
+package main.quiz;
+
+import java.util.Arrays;
+
+/**
+ * Quiz sessions of a share of the users, stored column-wise in parallel primitive arrays with one slot per session:
+ * skill estimate, topic, pending question, last access and the served Question-Ids.
+ * An open-addressing table maps a user to the slot, so a session costs a few dozen bytes plus its served ids
+ * instead of a map entry, a boxed key and a session object. Removing a session moves the last slot into its place.
+ * Served ids of a session are kept sorted. Access has to be synchronized on the table.
+ */
+final class SessionTable {
+    private static final long[] NO_IDS = new long[0];
+    private static final int MIN_CAPACITY = 8;
+
+    //Slot + 1 per hash position, 0 marks a free position. Twice the slot capacity keeps probe sequences short
+    private int[] positions = new int[2 * MIN_CAPACITY];
+    private long[] userIds = new long[MIN_CAPACITY];
+    private byte[] topicOrdinals = new byte[MIN_CAPACITY];
+    private float[] skills = new float[MIN_CAPACITY];
+    private long[] pendingQuestionIds = new long[MIN_CAPACITY];
+    private int[] pendingDifficulties = new int[MIN_CAPACITY];
+    private long[] lastAccessMillis = new long[MIN_CAPACITY];
+    private long[][] servedIds = new long[MIN_CAPACITY][];
+    private int[] servedCounts = new int[MIN_CAPACITY];
+    private int size;
+
+    /**
+     * Spreads the bits of a user id (MurmurHash3 finalizer), the low bits pick the hash position.
+     */
+    static long mix(long userId) {
+        long hash = userId;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return Slot of the session of the user or -1 if the user has none
+     */
+    int slotOf(long userId) {
+        int position = positionOf(userId);
+        return positions[position] - 1;
+    }
+
+    /**
+     * Starts a new session or restarts the existing session of the user.
+     * @return Slot of the session
+     */
+    int start(long userId, byte topicOrdinal, float skill, long nowMillis) {
+        int position = positionOf(userId);
+        int slot = positions[position] - 1;
+        if (slot < 0) {
+            if (size == userIds.length) {
+                resize(2 * userIds.length);
+                position = positionOf(userId);
+            }
+            slot = size++;
+            positions[position] = slot + 1;
+            userIds[slot] = userId;
+        }
+        topicOrdinals[slot] = topicOrdinal;
+        skills[slot] = skill;
+        pendingQuestionIds[slot] = -1;
+        pendingDifficulties[slot] = 0;
+        lastAccessMillis[slot] = nowMillis;
+        servedIds[slot] = NO_IDS;
+        servedCounts[slot] = 0;
+        return slot;
+    }
+
+    /**
+     * @return Whether the user had a session
+     */
+    boolean remove(long userId) {
+        int slot = slotOf(userId);
+        if (slot < 0) return false;
+        removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Removes every session last accessed before the deadline and releases the memory of emptied slots.
+     * @return Amount of removed sessions
+     */
+    int removeIdle(long deadlineMillis) {
+        int removed = 0;
+        //Walk backwards, removing moves the last slot into the removed one
+        for (int slot = size - 1; slot >= 0; slot--) {
+            if (lastAccessMillis[slot] < deadlineMillis) {
+                removeSlot(slot);
+                removed++;
+            }
+        }
+        if (userIds.length > MIN_CAPACITY && size < userIds.length / 4) {
+            resize(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, size)) * 2));
+        }
+        return removed;
+    }
+
+    byte topicOrdinal(int slot) {
+        return topicOrdinals[slot];
+    }
+
+    float skill(int slot) {
+        return skills[slot];
+    }
+
+    void setSkill(int slot, float skill) {
+        skills[slot] = skill;
+    }
+
+    /**
+     * @return Id of the served Question awaiting an answer or -1 if none is pending
+     */
+    long pendingQuestionId(int slot) {
+        return pendingQuestionIds[slot];
+    }
+
+    int pendingDifficulty(int slot) {
+        return pendingDifficulties[slot];
+    }
+
+    void setPending(int slot, long questionId, int difficulty) {
+        pendingQuestionIds[slot] = questionId;
+        pendingDifficulties[slot] = difficulty;
+    }
+
+    void touch(int slot, long nowMillis) {
+        lastAccessMillis[slot] = nowMillis;
+    }
+
+    boolean wasServed(int slot, long questionId) {
+        return Arrays.binarySearch(servedIds[slot], 0, servedCounts[slot], questionId) >= 0;
+    }
+
+    void markServed(int slot, long questionId) {
+        long[] served = servedIds[slot];
+        int count = servedCounts[slot];
+        int position = Arrays.binarySearch(served, 0, count, questionId);
+        if (position >= 0) return;
+        position = -position - 1;
+
+        if (count == served.length) {
+            served = Arrays.copyOf(served, Math.max(4, count * 2));
+            servedIds[slot] = served;
+        }
+        System.arraycopy(served, position, served, position + 1, count - position);
+        served[position] = questionId;
+        servedCounts[slot] = count + 1;
+    }
+
+    /**
+     * @return Hash position holding the user or the free position ending its probe sequence
+     */
+    private int positionOf(long userId) {
+        int mask = positions.length - 1;
+        int position = (int) mix(userId) & mask;
+        while (positions[position] != 0 && userIds[positions[position] - 1] != userId) {
+            position = (position + 1) & mask;
+        }
+        return position;
+    }
+
+    private void removeSlot(int slot) {
+        int last = size - 1;
+        clearPosition(positionOf(userIds[slot]));
+
+        if (slot != last) {
+            positions[positionOf(userIds[last])] = slot + 1;
+            userIds[slot] = userIds[last];
+            topicOrdinals[slot] = topicOrdinals[last];
+            skills[slot] = skills[last];
+            pendingQuestionIds[slot] = pendingQuestionIds[last];
+            pendingDifficulties[slot] = pendingDifficulties[last];
+            lastAccessMillis[slot] = lastAccessMillis[last];
+            servedIds[slot] = servedIds[last];
+            servedCounts[slot] = servedCounts[last];
+        }
+        servedIds[last] = null;
+        size--;
+    }
+
+    /**
+     * Frees the hash position and shifts later entries of the probe sequence back, so lookups need no tombstones.
+     */
+    private void clearPosition(int position) {
+        int mask = positions.length - 1;
+        int free = position;
+        int next = (free + 1) & mask;
+        while (positions[next] != 0) {
+            int home = (int) mix(userIds[positions[next] - 1]) & mask;
+            //Move the entry if the free position lies between its home and its current position
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                positions[free] = positions[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        positions[free] = 0;
+    }
+
+    private void resize(int capacity) {
+        userIds = Arrays.copyOf(userIds, capacity);
+        topicOrdinals = Arrays.copyOf(topicOrdinals, capacity);
+        skills = Arrays.copyOf(skills, capacity);
+        pendingQuestionIds = Arrays.copyOf(pendingQuestionIds, capacity);
+        pendingDifficulties = Arrays.copyOf(pendingDifficulties, capacity);
+        lastAccessMillis = Arrays.copyOf(lastAccessMillis, capacity);
+        servedIds = Arrays.copyOf(servedIds, capacity);
+        servedCounts = Arrays.copyOf(servedCounts, capacity);
+
+        positions = new int[2 * capacity];
+        for (int slot = 0; slot < size; slot++) {
+            positions[positionOf(userIds[slot])] = slot + 1;
+        }
+    }
+}
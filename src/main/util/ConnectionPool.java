@@ -0,0 +1,138 @@
+package main.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal pool of open connections, by default from DatabaseConnector.openConnection().
+ * Connections are opened on demand when no idle connection is available,
+ * fill(...) opens connections upfront so the first requests don't pay for connecting.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final int MAX_FILL_THREADS = 8;
+
+    private final ConcurrentLinkedQueue<Connection> idleConnections = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final ConnectionOpener opener;
+
+    public interface ConnectionOpener {
+        Connection open() throws SQLException;
+    }
+
+    public ConnectionPool() {
+        this(DatabaseConnector::openConnection);
+    }
+
+    /**
+     * @param opener Opens the connections of the pool
+     */
+    public ConnectionPool(ConnectionOpener opener) {
+        this.opener = opener;
+    }
+
+    /**
+     * Opens connections in parallel on temporary threads, at most MAX_FILL_THREADS at once,
+     * until the pool holds at least the specified amount.
+     * @param minConnections Amount of connections to hold
+     * @throws SQLException If a connection could not be opened
+     */
+    public void fill(int minConnections) throws SQLException {
+        int missing = minConnections - openConnections.get();
+        if (missing <= 0) return;
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(missing, MAX_FILL_THREADS), runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-fill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            fill(minConnections, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Opens connections in parallel on the executor until the pool holds at least the specified amount.
+     * Connecting blocks, so the executor mustn't be the common pool and its thread count bounds the parallelism.
+     * @param minConnections Amount of connections to hold
+     * @param executor Executor opening the connections, not running the calling task
+     * @throws SQLException If a connection could not be opened
+     */
+    public void fill(int minConnections, Executor executor) throws SQLException {
+        List<CompletableFuture<Connection>> openings = new ArrayList<>();
+        for (int i = openConnections.get(); i < minConnections; i++) {
+            openings.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return opener.open();
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+
+        //Keep every connection that was opened, even if another one failed
+        SQLException failure = null;
+        for (CompletableFuture<Connection> opening : openings) {
+            try {
+                idleConnections.add(opening.join());
+                openConnections.incrementAndGet();
+            } catch (CompletionException e) {
+                if (failure == null) failure = new SQLException("Failed to open pool connection", e.getCause());
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * Takes an idle connection or opens a new one, if none is idle.
+     * @return Connection to be handed back via release(Connection)
+     * @throws SQLException If a new connection could not be opened
+     */
+    public Connection borrow() throws SQLException {
+        Connection connection = idleConnections.poll();
+        if (connection != null) return connection;
+
+        connection = opener.open();
+        openConnections.incrementAndGet();
+        return connection;
+    }
+
+    /**
+     * Hands back a connection obtained by borrow().
+     * @param connection The borrowed connection
+     */
+    public void release(Connection connection) {
+        idleConnections.add(connection);
+    }
+
+    public int idleCount() {
+        return idleConnections.size();
+    }
+
+    public int openCount() {
+        return openConnections.get();
+    }
+
+    /**
+     * Closes all idle connections.
+     * @throws SQLException If a connection could not be closed
+     */
+    @Override
+    public void close() throws SQLException {
+        Connection connection;
+        while ((connection = idleConnections.poll()) != null) {
+            openConnections.decrementAndGet();
+            connection.close();
+        }
+    }
+}
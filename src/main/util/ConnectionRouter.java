@@ -0,0 +1,161 @@
+package main.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes reads to replicas, writes to the primary.
+ * A read stays on the primary while the open transaction of the primary contains a write issued via markWritten(),
+ * and for the read-your-writes window after the own (per thread) last committed write.
+ * The primary is a TransactionAwareConnection noticing the end of transactions,
+ * so transactions have to be ended via the connection returned by primary().
+ */
+public class ConnectionRouter {
+    public enum Strategy {
+        ROUND_ROBIN,
+        LEAST_LOADED
+    }
+
+    private final Connection primary;
+    private final List<Connection> replicas;
+    private final AtomicInteger[] inFlight;
+    private final Strategy strategy;
+    private final long readYourWritesMillis;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    //Last write of the current thread, each writer only waits for its own writes
+    private final ThreadLocal<long[]> lastWriteMillis = ThreadLocal.withInitial(() -> new long[]{Long.MIN_VALUE});
+    private final AtomicBoolean writeInTransaction = new AtomicBoolean();
+
+    public ConnectionRouter(Connection primary, List<Connection> replicas, Strategy strategy, long readYourWritesMillis) {
+        //Without replicas every read is served by the primary anyway, no need to track its transactions
+        this.primary = replicas.isEmpty() ? primary : TransactionAwareConnection.of(primary);
+        this.replicas = List.copyOf(replicas);
+        this.strategy = strategy;
+        this.readYourWritesMillis = readYourWritesMillis;
+
+        this.inFlight = new AtomicInteger[this.replicas.size()];
+        for (int i = 0; i < inFlight.length; i++) {
+            inFlight[i] = new AtomicInteger();
+        }
+    }
+
+    /**
+     * Creates a Router without replicas, every read and write is served by the given connection.
+     * @param connection The primary connection
+     * @return ConnectionRouter routing everything to the primary
+     */
+    public static ConnectionRouter primaryOnly(Connection connection) {
+        return new ConnectionRouter(connection, List.of(), Strategy.ROUND_ROBIN, 0);
+    }
+
+    /**
+     * The connection every write (and every read within a write) has to use.
+     * Commits and rollbacks have to be issued on this connection, so the router notices the end of a transaction.
+     * @return primary connection
+     */
+    public Connection primary() {
+        return primary;
+    }
+
+    /**
+     * Selects the connection a read should be served from.
+     * Reads stay on the primary if no replica is configured, the open transaction on the primary contains a write
+     * or the read-your-writes window after the last write of the current thread has not yet passed.
+     * Every acquired connection must be handed back via releaseRead(Connection).
+     * @return Connection to read from
+     */
+    public Connection acquireRead() {
+        if (replicas.isEmpty() || writeInTransaction.get() || isWithinReadYourWritesWindow()) {
+            return primary;
+        }
+
+        int index = strategy == Strategy.LEAST_LOADED ? leastLoadedIndex() : roundRobinIndex();
+        inFlight[index].incrementAndGet();
+        return replicas.get(index);
+    }
+
+    /**
+     * Hands back a connection obtained by acquireRead().
+     * @param connection The connection previously acquired
+     */
+    public void releaseRead(Connection connection) {
+        int index = replicas.indexOf(connection);
+        if (index >= 0) {
+            inFlight[index].decrementAndGet();
+        }
+    }
+
+    /**
+     * Marks that a write was issued on the primary by the current thread.
+     * Within a transaction reads stay on the primary until it ends, otherwise the read-your-writes window starts.
+     */
+    public void markWritten() {
+        if (replicas.isEmpty()) return;
+        TransactionAwareConnection transactionAware = (TransactionAwareConnection) primary;
+        try {
+            if (transactionAware.getAutoCommit()) {
+                startReadYourWritesWindow();
+            } else if (writeInTransaction.compareAndSet(false, true)) {
+                transactionAware.afterCommit(() -> transactionEnded(true));
+                transactionAware.afterRollback(() -> transactionEnded(false));
+            }
+        } catch (SQLException e) {
+            //Unknown transaction state (e.g. closed primary), fall back to the read-your-writes window
+            startReadYourWritesWindow();
+        }
+    }
+
+    /**
+     * @param replicaIndex Index of the replica in configuration order
+     * @return Amount of reads currently served by the replica
+     */
+    public int inFlightReads(int replicaIndex) {
+        return inFlight[replicaIndex].get();
+    }
+
+    public int replicaCount() {
+        return replicas.size();
+    }
+
+    private void startReadYourWritesWindow() {
+        if (readYourWritesMillis > 0) {
+            lastWriteMillis.get()[0] = System.currentTimeMillis();
+        }
+    }
+
+    private boolean isWithinReadYourWritesWindow() {
+        if (readYourWritesMillis <= 0) return false;
+        long lastWrite = lastWriteMillis.get()[0];
+        return lastWrite != Long.MIN_VALUE && System.currentTimeMillis() - lastWrite < readYourWritesMillis;
+    }
+
+    private void transactionEnded(boolean committed) {
+        writeInTransaction.set(false);
+        //Replicas only receive the writes once committed
+        if (committed) startReadYourWritesWindow();
+    }
+
+    private int roundRobinIndex() {
+        return Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+    }
+
+    private int leastLoadedIndex() {
+        //Start at a rotating offset, so replicas with equal load are used in turn
+        int offset = roundRobinIndex();
+        int selected = offset;
+        int lowestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < inFlight.length; i++) {
+            int index = (offset + i) % inFlight.length;
+            int load = inFlight[index].get();
+            if (load < lowestLoad) {
+                lowestLoad = load;
+                selected = index;
+            }
+        }
+        return selected;
+    }
+}
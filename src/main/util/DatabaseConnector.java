@@ -1,15 +1,30 @@
 package main.util;
 
+import main.model.entity.Topic;
+
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class DatabaseConnector {
     private static String url;
     private static String username;
     private static String password;
+    private static List<String> replicaUrls;
+    private static List<String> shardUrls;
+    private static String shardTopics;
+    private static ConnectionRouter.Strategy readRouting;
+    private static long readYourWritesMillis;
+    private static SlowQueryLog slowQueryLog;
+    private static HashMap<String, String> properties;
 
     private static Connection connection;
 
@@ -19,16 +34,76 @@ public class DatabaseConnector {
     private DatabaseConnector() {
         try{
             HashMap<String, String> propertiesMap = ReaderUtil.readProperties("resources/application.config");
+            properties = propertiesMap;
             url = propertiesMap.get("URL");
             username = propertiesMap.get("USERNAME");
             password = propertiesMap.get("PASSWORD");
 
-            Class.forName("com.mysql.cj.jdbc.Driver");
-        } catch (IOException | ClassNotFoundException e) {
+            replicaUrls = parseUrls(propertiesMap.getOrDefault("REPLICA_URLS", ""));
+            shardUrls = parseUrls(propertiesMap.getOrDefault("SHARD_URLS", ""));
+            shardTopics = propertiesMap.getOrDefault("SHARD_TOPICS", "");
+            readRouting = ConnectionRouter.Strategy.valueOf(
+                    propertiesMap.getOrDefault("READ_ROUTING", "ROUND_ROBIN").toUpperCase());
+            readYourWritesMillis = Long.parseLong(propertiesMap.getOrDefault("READ_YOUR_WRITES_MS", "0"));
+
+            String slowQueryThreshold = propertiesMap.get("SLOW_QUERY_THRESHOLD_MS");
+            if (slowQueryThreshold != null && !slowQueryThreshold.isBlank()) {
+                slowQueryLog = new SlowQueryLog(
+                        Duration.ofMillis(Long.parseLong(slowQueryThreshold.trim())),
+                        Integer.parseInt(propertiesMap.getOrDefault("SLOW_QUERY_TOP_N", "20")),
+                        Duration.ofMinutes(Long.parseLong(propertiesMap.getOrDefault("SLOW_QUERY_WINDOW_MINUTES", "60"))));
+            }
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Loads the JDBC driver on first use instead of on class initialization.
+     */
+    private static final class DriverHolder {
+        static {
+            try {
+                Class.forName("com.mysql.cj.jdbc.Driver");
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private static void ensureLoaded() { }
+    }
+
+    private static List<String> parseUrls(String urls) {
+        return Arrays.stream(urls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Wraps the connection with the slow query log, if SLOW_QUERY_THRESHOLD_MS is configured.
+     */
+    private static Connection timed(Connection connection) {
+        return slowQueryLog == null ? connection : slowQueryLog.wrap(connection);
+    }
+
+    /**
+     * @return The log of slow statements of all connections handed out, null if SLOW_QUERY_THRESHOLD_MS is not configured
+     */
+    public static SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
+    /**
+     * Reads a value of the application.config loaded on startup, without reading the file again.
+     * @param key Key of the property
+     * @param defaultValue Value returned if the key is not configured
+     * @return The configured value or the default value
+     */
+    public static String getProperty(String key, String defaultValue) {
+        return properties.getOrDefault(key, defaultValue);
+    }
+
     /**
      * Sets the autoCommit Mode when acquiring a connection
      * @param autoCommit enabled or disabled value
@@ -38,16 +113,84 @@ public class DatabaseConnector {
     }
 
     /**
-     * Establish a database connection via DriverManager
+     * Establish a database connection via DriverManager.
+     * Connections are TransactionAwareConnections, so DAOs can defer notifications until a transaction is committed.
      * @return A valid connection
      * @throws SQLException if connection to database was not established due to faulty credentials
      */
     public static Connection getConnection() throws SQLException {
-        connection = DriverManager.getConnection(url, username, password);
-        connection.setAutoCommit(autoCommit);
+        connection = openConnection();
         return connection;
     }
 
+    /**
+     * Establish an additional database connection via DriverManager, e.g. for a ConnectionPool.
+     * Unlike getConnection() the connection is not tracked for closeConnection() and rollbackChanges().
+     * @return A valid connection
+     * @throws SQLException if connection to database was not established due to faulty credentials
+     */
+    public static Connection openConnection() throws SQLException {
+        DriverHolder.ensureLoaded();
+        Connection newConnection = new TransactionAwareConnection(timed(DriverManager.getConnection(url, username, password)));
+        newConnection.setAutoCommit(autoCommit);
+        return newConnection;
+    }
+
+    /**
+     * Establish a connection to the primary and to every configured replica (REPLICA_URLS)
+     * and composes a ConnectionRouter from them.
+     * Replicas are read-only and always use autoCommit.
+     * @return ConnectionRouter for the configured endpoints
+     * @throws SQLException if a connection to one of the endpoints was not established
+     */
+    public static ConnectionRouter getConnectionRouter() throws SQLException {
+        Connection primary = getConnection();
+
+        List<Connection> replicas = new ArrayList<>();
+        for (String replicaUrl : replicaUrls) {
+            DriverHolder.ensureLoaded();
+            Connection replica = timed(DriverManager.getConnection(replicaUrl, username, password));
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ConnectionRouter(primary, replicas, readRouting, readYourWritesMillis);
+    }
+
+    /**
+     * Establish a connection to every configured shard (SHARD_URLS), in configuration order.
+     * The order determines the shard index and must not change once Questions were saved.
+     * @return List of shard connections, empty if no shards are configured
+     * @throws SQLException if a connection to one of the shards was not established
+     */
+    public static List<Connection> getShardConnections() throws SQLException {
+        List<Connection> shards = new ArrayList<>();
+        for (String shardUrl : shardUrls) {
+            DriverHolder.ensureLoaded();
+            Connection shard = new TransactionAwareConnection(timed(DriverManager.getConnection(shardUrl, username, password)));
+            shard.setAutoCommit(autoCommit);
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    /**
+     * Reads the placement of the topics on the shards (SHARD_TOPICS), e.g. ARTS:0,CULTURE:1,FOOD:1.
+     * @return Shard index per configured Topic, for the order of getShardConnections()
+     * @throws IllegalArgumentException If an entry is malformed or names an unknown topic
+     */
+    public static Map<Topic, Integer> getShardTopics() {
+        Map<Topic, Integer> topicShards = new EnumMap<>(Topic.class);
+        for (String entry : shardTopics.split(",")) {
+            if (entry.isBlank()) continue;
+            String[] topicAndShard = entry.split(":");
+            if (topicAndShard.length != 2) throw new IllegalArgumentException("Invalid SHARD_TOPICS entry: " + entry);
+            topicShards.put(
+                    Topic.valueOf(topicAndShard[0].trim().toUpperCase()),
+                    Integer.parseInt(topicAndShard[1].trim()));
+        }
+        return topicShards;
+    }
+
     /**
      * Closes and open connection. Not required when getConnection() auto-closable is used.
      * @throws SQLException If no valid connection is currently open.
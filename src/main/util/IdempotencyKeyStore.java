@@ -0,0 +1,116 @@
+package main.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Bounded store remembering the result of writes by their idempotency key for a limited time.
+ * Retries with a known key get the original result instead of repeating the write.
+ * When the store is full, the oldest key is dropped.
+ * Only results of committed writes may be remembered: a remembered key is never re-checked against the Database.
+ */
+public class IdempotencyKeyStore {
+    private final int maxKeys;
+    private final long timeToLiveMillis;
+
+    //Insertion order equals expiry order, as every key lives for the same duration
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxKeys;
+        }
+    };
+
+    public IdempotencyKeyStore(int maxKeys, Duration timeToLive) {
+        this.maxKeys = maxKeys;
+        this.timeToLiveMillis = timeToLive.toMillis();
+    }
+
+    /**
+     * Executes the write once per key within the time-to-live.
+     * Concurrent calls with the same key wait for the write in flight and return its result.
+     * A write returning null (failure) is not remembered, so a later retry executes it again.
+     * @param key Idempotency key of the request
+     * @param write The write to execute, returning the id of the written entity or null on failure
+     * @return Id of the original write or null if it failed
+     */
+    public Long executeOnce(String key, Supplier<Long> write) {
+        Entry entry;
+        boolean owner = false;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            removeExpired(now);
+
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(now + timeToLiveMillis);
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+        if (!owner) {
+            return entry.result.join();
+        }
+
+        Long id = null;
+        try {
+            id = write.get();
+        } finally {
+            if (id == null) {
+                synchronized (this) {
+                    entries.remove(key, entry);
+                }
+            }
+            entry.result.complete(id);
+        }
+        return id;
+    }
+
+    /**
+     * @param key Idempotency key of the request
+     * @return Id remembered for the key or null if the key is unknown, expired or still in flight
+     */
+    public synchronized Long find(String key) {
+        removeExpired(System.currentTimeMillis());
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.result.getNow(null);
+    }
+
+    /**
+     * Remembers the result of a write executed outside of executeOnce(...), e.g. within a batch.
+     * @param key Idempotency key of the request
+     * @param id Id of the written entity
+     */
+    public synchronized void remember(String key, long id) {
+        Entry entry = new Entry(System.currentTimeMillis() + timeToLiveMillis);
+        entry.result.complete(id);
+        entries.remove(key);
+        entries.put(key, entry);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void removeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAtMillis > now) return;
+            if (entry.result.isDone()) iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final long expiresAtMillis;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        private Entry(long expiresAtMillis) {
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
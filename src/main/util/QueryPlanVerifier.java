@@ -0,0 +1,260 @@
+package main.util;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the statements issued through a connection and checks their execution plans with EXPLAIN.
+ * Wrap the connection handed to the DAOs with record(...), run the DAO operations,
+ * then verify(...) the recorded statements. Inserts are not checked, as they don't read.
+ */
+public class QueryPlanVerifier {
+    private final Map<String, RecordedStatement> recordedStatements = new ConcurrentHashMap<>();
+
+    public record RecordedStatement(
+            String sql,
+            Map<Integer, Object> parameters
+    ){ }
+
+    public record PlanIssue(
+            String sql,
+            String table,
+            String accessType,
+            String extra,
+            String description
+    ){ }
+
+    /**
+     * Wraps the connection so every prepared statement executed through it is recorded
+     * with the parameters of its first execution.
+     * @param connection Connection to record
+     * @return Recording connection
+     */
+    public Connection record(Connection connection) {
+        return new RecordingConnection(connection);
+    }
+
+    /**
+     * @return All distinct statements recorded so far
+     */
+    public Collection<RecordedStatement> recordedStatements() {
+        return recordedStatements.values();
+    }
+
+    /**
+     * Runs EXPLAIN for every recorded SELECT, UPDATE and DELETE statement
+     * and reports full table scans, full index scans and filesorts.
+     * @param connection Connection to explain on (not a recording connection)
+     * @return List of PlanIssues, empty if every plan uses indexes
+     * @throws SQLException If a statement could not be explained
+     */
+    public List<PlanIssue> verify(Connection connection) throws SQLException {
+        List<PlanIssue> issues = new ArrayList<>();
+        for (RecordedStatement recorded : recordedStatements.values()) {
+            String verb = recorded.sql().trim().split("\\s+", 2)[0].toUpperCase(Locale.ROOT);
+            if (!verb.equals("SELECT") && !verb.equals("UPDATE") && !verb.equals("DELETE")) continue;
+
+            try (PreparedStatement explainStatement = connection.prepareStatement("EXPLAIN " + recorded.sql())) {
+                for (Map.Entry<Integer, Object> parameter : recorded.parameters().entrySet()) {
+                    explainStatement.setObject(parameter.getKey(), parameter.getValue());
+                }
+                ResultSet rs = explainStatement.executeQuery();
+                while (rs.next()) {
+                    inspectPlanRow(recorded.sql(), rs, issues);
+                }
+                rs.close();
+            }
+        }
+        return issues;
+    }
+
+    private static void inspectPlanRow(String sql, ResultSet rs, List<PlanIssue> issues) throws SQLException {
+        String table = rs.getString("table");
+        String accessType = rs.getString("type");
+        String extra = rs.getString("Extra");
+
+        if ("ALL".equals(accessType)) {
+            issues.add(new PlanIssue(sql, table, accessType, extra, "Full table scan"));
+        } else if ("index".equals(accessType)) {
+            issues.add(new PlanIssue(sql, table, accessType, extra, "Full index scan"));
+        }
+        if (extra != null && extra.contains("Using filesort")) {
+            issues.add(new PlanIssue(sql, table, accessType, extra, "Filesort"));
+        }
+    }
+
+    private final class RecordingConnection extends DelegatingConnection {
+        private RecordingConnection(Connection delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql) throws SQLException {
+            return new RecordingStatement(delegate.prepareStatement(sql), sql);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+            return new RecordingStatement(delegate.prepareStatement(sql, autoGeneratedKeys), sql);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+            return new RecordingStatement(delegate.prepareStatement(sql, columnIndexes), sql);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+            return new RecordingStatement(delegate.prepareStatement(sql, columnNames), sql);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+            return new RecordingStatement(delegate.prepareStatement(sql, resultSetType, resultSetConcurrency), sql);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+            return new RecordingStatement(delegate.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability), sql);
+        }
+    }
+
+    /**
+     * PreparedStatement recording its SQL with the parameters bound at its first execution.
+     * Parameters bound by the less common setters (streams, LOBs, arrays) are not recorded.
+     */
+    private final class RecordingStatement extends DelegatingPreparedStatement {
+        private final String sql;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        private RecordingStatement(PreparedStatement delegate, String sql) {
+            super(delegate);
+            this.sql = sql;
+        }
+
+        @Override
+        public ResultSet executeQuery() throws SQLException {
+            recordExecution();
+            return delegate.executeQuery();
+        }
+
+        @Override
+        public int executeUpdate() throws SQLException {
+            recordExecution();
+            return delegate.executeUpdate();
+        }
+
+        @Override
+        public boolean execute() throws SQLException {
+            recordExecution();
+            return delegate.execute();
+        }
+
+        @Override
+        public void addBatch() throws SQLException {
+            recordExecution();
+            delegate.addBatch();
+        }
+
+        @Override
+        public void setNull(int parameterIndex, int sqlType) throws SQLException {
+            parameters.put(parameterIndex, null);
+            delegate.setNull(parameterIndex, sqlType);
+        }
+
+        @Override
+        public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+            parameters.put(parameterIndex, x);
+            delegate.setBoolean(parameterIndex, x);
+        }
+
+        @Override
+        public void setByte(int parameterIndex, byte x) throws SQLException {
+            parameters.put(parameterIndex, x);
+            delegate.setByte(parameterIndex, x);
+        }
+
+        @Override
+        public void setShort(int parameterIndex, short x) throws SQLException {
+            parameters.put(parameterIndex, x);
+            delegate.setShort(parameterIndex, x);
+        }
+
+        @Override
+        public void setInt(int parameterIndex, int x) throws SQLException {
+            parameters.put(parameterIndex, x);
+            delegate.setInt(parameterIndex, x);
+        }
+
+        @Override
+        public void setLong(int parameterIndex, long x) throws SQLException {
+            parameters.put(parameterIndex, x);
+            delegate.setLong(parameterIndex, x);
+        }
+
+        @Override
+        public void setFloat(int parameterIndex, float x) throws SQLException {
+            parameters.put(parameterIndex, x);
+            delegate.setFloat(parameterIndex, x);
+        }
+
+        @Override
+        public void setDouble(int parameterIndex, double x) throws SQLException {
+            parameters.put(parameterIndex, x);
+            delegate.setDouble(parameterIndex, x);
+        }
+
+        @Override
+        public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+            parameters.put(parameterIndex, x);
+            delegate.setBigDecimal(parameterIndex, x);
+        }
+
+        @Override
+        public void setString(int parameterIndex, String x) throws SQLException {
+            parameters.put(parameterIndex, x);
+            delegate.setString(parameterIndex, x);
+        }
+
+        @Override
+        public void setDate(int parameterIndex, Date x) throws SQLException {
+            parameters.put(parameterIndex, x);
+            delegate.setDate(parameterIndex, x);
+        }
+
+        @Override
+        public void setTime(int parameterIndex, Time x) throws SQLException {
+            parameters.put(parameterIndex, x);
+            delegate.setTime(parameterIndex, x);
+        }
+
+        @Override
+        public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+            parameters.put(parameterIndex, x);
+            delegate.setTimestamp(parameterIndex, x);
+        }
+
+        @Override
+        public void setObject(int parameterIndex, Object x) throws SQLException {
+            parameters.put(parameterIndex, x);
+            delegate.setObject(parameterIndex, x);
+        }
+
+        private void recordExecution() {
+            recordedStatements.putIfAbsent(sql, new RecordedStatement(sql, new TreeMap<>(parameters)));
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package main.util;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.logging.Logger;
+
+/**
+ * Times every prepared statement executed through a wrapped connection.
+ * Plain Statements from createStatement() are passed through untimed, the DAOs only issue prepared statements.
+ * Statements taking at least the threshold are logged with their parameters and row count,
+ * the slowest statements of the current and the previous window are kept for retrieval at runtime,
+ * so a past spike drops out after at most two windows.
+ * A query is timed until executeQuery() returns, so a ResultSet left open while other statements run
+ * doesn't inflate its duration. By default the driver transfers all rows within executeQuery().
+ * Rows are only fetched during ResultSet.next() if a fetch size is set (streaming or cursor fetch),
+ * only then the time spent within next() is added as fetch time, sparing two clock reads per row otherwise.
+ * The query is recorded once its ResultSet is exhausted or closed, or its statement is re-executed or closed.
+ * Fast statements only cost clock reads and a comparison, nothing is formatted or locked for them.
+ * The wrappers are plain delegating classes, calls that aren't timed are forwarded without reflection.
+ */
+public class SlowQueryLog {
+    private static final Logger logger = Logger.getLogger(SlowQueryLog.class.getName());
+
+    private static final Duration DEFAULT_WINDOW = Duration.ofHours(1);
+
+    private final long thresholdNanos;
+    private final int capacity;
+    private final long windowMillis;
+    //Top-N of the current and the previous window, rotated once the current window ended
+    private PriorityQueue<SlowStatement> currentSlowest = createTopN();
+    private PriorityQueue<SlowStatement> previousSlowest = createTopN();
+    private long windowStartMillis = System.currentTimeMillis();
+    private volatile long windowEndMillis;
+    //Duration a statement has to exceed to enter the full top-N of the current window, read without locking
+    private volatile long slowestFloorNanos = 0;
+
+    /**
+     * @param durationNanos Execution plus fetch time
+     * @param fetchNanos Time spent fetching rows of a query with a fetch size, otherwise 0
+     */
+    public record SlowStatement(
+            String sql,
+            String parameters,
+            long durationNanos,
+            long fetchNanos,
+            long rows,
+            long timestampMillis
+    ){
+        public Duration duration() {
+            return Duration.ofNanos(durationNanos);
+        }
+
+        public Duration fetchDuration() {
+            return Duration.ofNanos(fetchNanos);
+        }
+    }
+
+    /**
+     * Keeps the slowest statements of hourly windows.
+     * @param threshold Minimum execution time of a statement to be logged
+     * @param capacity Amount of slowest statements to keep
+     */
+    public SlowQueryLog(Duration threshold, int capacity) {
+        this(threshold, capacity, DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param threshold Minimum execution time of a statement to be logged
+     * @param capacity Amount of slowest statements to keep
+     * @param window Length of the windows the slowest statements are collected in
+     */
+    public SlowQueryLog(Duration threshold, int capacity, Duration window) {
+        this.thresholdNanos = threshold.toNanos();
+        this.capacity = capacity;
+        this.windowMillis = Math.max(1, window.toMillis());
+        this.windowEndMillis = windowStartMillis + windowMillis;
+    }
+
+    /**
+     * Wraps the connection so every prepared statement executed through it is timed, plain Statements are not.
+     * @param connection Connection to wrap
+     * @return Timed connection
+     */
+    public Connection wrap(Connection connection) {
+        return new TimedConnection(connection);
+    }
+
+    /**
+     * @return The slowest statements of the current and the previous window, slowest first
+     */
+    public synchronized List<SlowStatement> slowestStatements() {
+        rotateWindow(System.currentTimeMillis());
+        List<SlowStatement> statements = new ArrayList<>(currentSlowest);
+        statements.addAll(previousSlowest);
+        statements.sort(Comparator.comparingLong(SlowStatement::durationNanos).reversed());
+        return statements.size() > capacity ? new ArrayList<>(statements.subList(0, capacity)) : statements;
+    }
+
+    public synchronized void reset() {
+        currentSlowest.clear();
+        previousSlowest.clear();
+        slowestFloorNanos = 0;
+    }
+
+    private static PriorityQueue<SlowStatement> createTopN() {
+        return new PriorityQueue<>(Comparator.comparingLong(SlowStatement::durationNanos));
+    }
+
+    /**
+     * Starts a new window if the current one ended, the current top-N becomes the previous one
+     * unless more than one window passed without a slow statement.
+     */
+    private void rotateWindow(long nowMillis) {
+        if (nowMillis < windowEndMillis) return;
+
+        long elapsedWindows = (nowMillis - windowStartMillis) / windowMillis;
+        previousSlowest = elapsedWindows == 1 ? currentSlowest : createTopN();
+        currentSlowest = createTopN();
+        windowStartMillis += elapsedWindows * windowMillis;
+        windowEndMillis = windowStartMillis + windowMillis;
+        slowestFloorNanos = 0;
+    }
+
+    private void record(String sql, Object[] parameters, int parameterCount, long durationNanos, long fetchNanos, long rows) {
+        boolean overThreshold = durationNanos >= thresholdNanos;
+        long nowMillis = System.currentTimeMillis();
+        if (!overThreshold && durationNanos <= slowestFloorNanos && nowMillis < windowEndMillis) return;
+
+        String boundParameters = Arrays.toString(Arrays.copyOf(parameters, parameterCount));
+        SlowStatement statement = new SlowStatement(sql, boundParameters, durationNanos, fetchNanos, rows, nowMillis);
+        if (overThreshold) {
+            logger.warning(() -> String.format("Slow statement (%d ms, %d ms fetching %d rows): %s Parameters: %s",
+                    durationNanos / 1_000_000, fetchNanos / 1_000_000, rows, sql, statement.parameters()));
+        }
+
+        synchronized (this) {
+            rotateWindow(nowMillis);
+            currentSlowest.add(statement);
+            if (currentSlowest.size() > capacity) currentSlowest.poll();
+            if (currentSlowest.size() == capacity) slowestFloorNanos = currentSlowest.peek().durationNanos();
+        }
+    }
+
+    private final class TimedConnection extends DelegatingConnection {
+        private TimedConnection(Connection delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql) throws SQLException {
+            return new TimedStatement(delegate.prepareStatement(sql), sql);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+            return new TimedStatement(delegate.prepareStatement(sql, autoGeneratedKeys), sql);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+            return new TimedStatement(delegate.prepareStatement(sql, columnIndexes), sql);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+            return new TimedStatement(delegate.prepareStatement(sql, columnNames), sql);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+            return new TimedStatement(delegate.prepareStatement(sql, resultSetType, resultSetConcurrency), sql);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+            return new TimedStatement(delegate.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability), sql);
+        }
+    }
+
+    /**
+     * PreparedStatement recording its bound parameters and timing its executions.
+     * Parameters bound by the less common setters (streams, LOBs, arrays) are not recorded.
+     */
+    private final class TimedStatement extends DelegatingPreparedStatement {
+        private static final Object[] NO_PARAMETERS = new Object[0];
+
+        private final String sql;
+        private Object[] parameters = NO_PARAMETERS;
+        private int parameterCount;
+        private TimedResultSet pendingQuery;
+
+        private TimedStatement(PreparedStatement delegate, String sql) {
+            super(delegate);
+            this.sql = sql;
+        }
+
+        @Override
+        public ResultSet executeQuery() throws SQLException {
+            finishPendingQuery();
+            long start = System.nanoTime();
+            ResultSet rs = delegate.executeQuery();
+            long executionNanos = System.nanoTime() - start;
+            //Parameters may be re-bound before the ResultSet is exhausted
+            pendingQuery = new TimedResultSet(rs, this, executionNanos, delegate.getFetchSize() != 0, Arrays.copyOf(parameters, parameterCount));
+            return pendingQuery;
+        }
+
+        @Override
+        public int executeUpdate() throws SQLException {
+            finishPendingQuery();
+            long start = System.nanoTime();
+            int rows = delegate.executeUpdate();
+            record(sql, parameters, parameterCount, System.nanoTime() - start, 0, rows);
+            return rows;
+        }
+
+        @Override
+        public boolean execute() throws SQLException {
+            finishPendingQuery();
+            long start = System.nanoTime();
+            boolean hasResultSet = delegate.execute();
+            long duration = System.nanoTime() - start;
+            record(sql, parameters, parameterCount, duration, 0, hasResultSet ? -1 : delegate.getUpdateCount());
+            return hasResultSet;
+        }
+
+        @Override
+        public int[] executeBatch() throws SQLException {
+            finishPendingQuery();
+            long start = System.nanoTime();
+            int[] batchRows = delegate.executeBatch();
+            long duration = System.nanoTime() - start;
+            record(sql, parameters, parameterCount, duration, 0, Arrays.stream(batchRows).filter(rows -> rows > 0).asLongStream().sum());
+            return batchRows;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            finishPendingQuery();
+            delegate.close();
+        }
+
+        @Override
+        public void setNull(int parameterIndex, int sqlType) throws SQLException {
+            bind(parameterIndex, null);
+            delegate.setNull(parameterIndex, sqlType);
+        }
+
+        @Override
+        public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+            bind(parameterIndex, x);
+            delegate.setBoolean(parameterIndex, x);
+        }
+
+        @Override
+        public void setByte(int parameterIndex, byte x) throws SQLException {
+            bind(parameterIndex, x);
+            delegate.setByte(parameterIndex, x);
+        }
+
+        @Override
+        public void setShort(int parameterIndex, short x) throws SQLException {
+            bind(parameterIndex, x);
+            delegate.setShort(parameterIndex, x);
+        }
+
+        @Override
+        public void setInt(int parameterIndex, int x) throws SQLException {
+            bind(parameterIndex, x);
+            delegate.setInt(parameterIndex, x);
+        }
+
+        @Override
+        public void setLong(int parameterIndex, long x) throws SQLException {
+            bind(parameterIndex, x);
+            delegate.setLong(parameterIndex, x);
+        }
+
+        @Override
+        public void setFloat(int parameterIndex, float x) throws SQLException {
+            bind(parameterIndex, x);
+            delegate.setFloat(parameterIndex, x);
+        }
+
+        @Override
+        public void setDouble(int parameterIndex, double x) throws SQLException {
+            bind(parameterIndex, x);
+            delegate.setDouble(parameterIndex, x);
+        }
+
+        @Override
+        public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+            bind(parameterIndex, x);
+            delegate.setBigDecimal(parameterIndex, x);
+        }
+
+        @Override
+        public void setString(int parameterIndex, String x) throws SQLException {
+            bind(parameterIndex, x);
+            delegate.setString(parameterIndex, x);
+        }
+
+        @Override
+        public void setDate(int parameterIndex, Date x) throws SQLException {
+            bind(parameterIndex, x);
+            delegate.setDate(parameterIndex, x);
+        }
+
+        @Override
+        public void setTime(int parameterIndex, Time x) throws SQLException {
+            bind(parameterIndex, x);
+            delegate.setTime(parameterIndex, x);
+        }
+
+        @Override
+        public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+            bind(parameterIndex, x);
+            delegate.setTimestamp(parameterIndex, x);
+        }
+
+        @Override
+        public void setObject(int parameterIndex, Object x) throws SQLException {
+            bind(parameterIndex, x);
+            delegate.setObject(parameterIndex, x);
+        }
+
+        private void bind(int index, Object value) {
+            if (index > parameters.length) parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            parameters[index - 1] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+
+        private void finishPendingQuery() {
+            if (pendingQuery != null) pendingQuery.finish();
+            pendingQuery = null;
+        }
+    }
+
+    /**
+     * ResultSet counting its rows and, if rows are fetched lazily, adding the time spent in next() to its query.
+     */
+    private final class TimedResultSet extends DelegatingResultSet {
+        private final String sql;
+        private final long executionNanos;
+        private final boolean timeFetch;
+        private final Object[] boundParameters;
+        private long fetchNanos;
+        private long rows;
+        private boolean finished;
+
+        private TimedResultSet(ResultSet delegate, TimedStatement statement, long executionNanos, boolean timeFetch, Object[] boundParameters) {
+            super(delegate);
+            this.sql = statement.sql;
+            this.executionNanos = executionNanos;
+            this.timeFetch = timeFetch;
+            this.boundParameters = boundParameters;
+        }
+
+        @Override
+        public boolean next() throws SQLException {
+            long start = timeFetch ? System.nanoTime() : 0;
+            boolean hasNext = delegate.next();
+            if (timeFetch) fetchNanos += System.nanoTime() - start;
+            if (hasNext) rows++;
+            else finish();
+            return hasNext;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            finish();
+            delegate.close();
+        }
+
+        private void finish() {
+            if (finished) return;
+            finished = true;
+            record(sql, boundParameters, boundParameters.length, executionNanos + fetchNanos, fetchNanos, rows);
+        }
+    }
+}
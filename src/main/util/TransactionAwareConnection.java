@@ -0,0 +1,107 @@
+package main.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Connection running registered actions once the open transaction ends,
+ * e.g. to publish changes only after they were committed.
+ * In autoCommit mode every statement is committed immediately, so actions run when they are registered.
+ * Commits and rollbacks have to be issued on this connection, not on the wrapped one.
+ */
+public class TransactionAwareConnection extends DelegatingConnection {
+    private static final Logger logger = Logger.getLogger(TransactionAwareConnection.class.getName());
+
+    private final List<Runnable> afterCommit = new ArrayList<>();
+    private final List<Runnable> afterRollback = new ArrayList<>();
+
+    public TransactionAwareConnection(Connection delegate) {
+        super(delegate);
+    }
+
+    /**
+     * @param connection Connection to wrap
+     * @return The connection itself if it already is transaction aware, otherwise a wrapper
+     */
+    public static TransactionAwareConnection of(Connection connection) {
+        return connection instanceof TransactionAwareConnection transactionAware
+                ? transactionAware
+                : new TransactionAwareConnection(connection);
+    }
+
+    /**
+     * Runs the action once the open transaction is committed, immediately in autoCommit mode.
+     * The action is dropped if the transaction is rolled back.
+     * @param action Action to run
+     * @throws SQLException If the autoCommit mode could not be determined
+     */
+    public void afterCommit(Runnable action) throws SQLException {
+        synchronized (this) {
+            if (!delegate.getAutoCommit()) {
+                afterCommit.add(action);
+                return;
+            }
+        }
+        run(List.of(action));
+    }
+
+    /**
+     * Runs the action once the open transaction is rolled back (or the connection closed without commit).
+     * Nothing is registered in autoCommit mode, as there is no transaction to roll back.
+     * @param action Action to run
+     * @throws SQLException If the autoCommit mode could not be determined
+     */
+    public synchronized void afterRollback(Runnable action) throws SQLException {
+        if (!delegate.getAutoCommit()) afterRollback.add(action);
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        delegate.commit();
+        transactionEnded(true);
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        delegate.rollback();
+        transactionEnded(false);
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        //Enabling autoCommit commits the open transaction
+        boolean commits = autoCommit && !delegate.getAutoCommit();
+        delegate.setAutoCommit(autoCommit);
+        if (commits) transactionEnded(true);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        delegate.close();
+        transactionEnded(false);
+    }
+
+    private void transactionEnded(boolean committed) {
+        List<Runnable> actions;
+        synchronized (this) {
+            actions = new ArrayList<>(committed ? afterCommit : afterRollback);
+            afterCommit.clear();
+            afterRollback.clear();
+        }
+        run(actions);
+    }
+
+    private static void run(List<Runnable> actions) {
+        for (Runnable action : actions) {
+            //A failing action must neither undo the finished transaction nor skip the remaining actions
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                logger.severe("Transaction action failed: " + e.getMessage());
+            }
+        }
+    }
+}
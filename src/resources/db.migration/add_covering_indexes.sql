@@ -0,0 +1,49 @@
+-- Covering indexes for the DaoQuestion queries.
+-- Run after create_quizapplication.sql, verify plans with main.util.QueryPlanVerifier.
+
+USE `quizapplication` ;
+
+-- -----------------------------------------------------
+-- Table `quizapplication`.`question_response`
+-- Links become unique: the deduplicated links are copied into a new table with the Primary-Key
+-- already in place, then both tables are swapped by one atomic RENAME TABLE.
+-- A failure before the swap leaves `question_response` untouched (DDL commits implicitly, so no
+-- transaction could undo a partial DELETE). Stop writers to question_response until the swap is done.
+-- The Primary-Key covers the question_id look-ups, replacing the `question_id` index.
+-- -----------------------------------------------------
+DROP TABLE IF EXISTS `quizapplication`.`question_response_new` ;
+
+CREATE TABLE `quizapplication`.`question_response_new` (
+    `question_id` INT(11) NOT NULL,
+    `response_id` INT(11) NOT NULL,
+    PRIMARY KEY (`question_id`, `response_id`),
+    INDEX `response_id` (`response_id` ASC) VISIBLE,
+    CONSTRAINT `question_response_new_ibfk_1`
+    FOREIGN KEY (`question_id`)
+    REFERENCES `quizapplication`.`question` (`id`),
+    CONSTRAINT `question_response_new_ibfk_2`
+    FOREIGN KEY (`response_id`)
+    REFERENCES `quizapplication`.`response` (`id`))
+    ENGINE = InnoDB
+    DEFAULT CHARACTER SET = utf8mb4
+    COLLATE = utf8mb4_0900_ai_ci;
+
+INSERT INTO `quizapplication`.`question_response_new` (`question_id`, `response_id`)
+    SELECT DISTINCT `question_id`, `response_id` FROM `quizapplication`.`question_response`;
+
+-- Renames the generated foreign key names along with the tables (<table>_ibfk_<n>)
+RENAME TABLE
+    `quizapplication`.`question_response` TO `quizapplication`.`question_response_old`,
+    `quizapplication`.`question_response_new` TO `quizapplication`.`question_response`;
+
+DROP TABLE `quizapplication`.`question_response_old`;
+
+
+-- -----------------------------------------------------
+-- Table `quizapplication`.`question`
+-- Serves topic searches and per topic/difficulty look-ups from the index alone.
+-- Replaces the `topic_id` index (leftmost prefix).
+-- -----------------------------------------------------
+ALTER TABLE `quizapplication`.`question`
+    ADD INDEX `topic_difficulty` (`topic_id` ASC, `difficultyRankNumber` ASC, `id` ASC) VISIBLE,
+    DROP INDEX `topic_id`;
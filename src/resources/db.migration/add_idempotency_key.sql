@@ -0,0 +1,14 @@
+-- Idempotency keys of saved Questions, see DaoQuestion.saveQuestion.
+-- Run after add_covering_indexes.sql.
+
+USE `quizapplication` ;
+
+-- -----------------------------------------------------
+-- Table `quizapplication`.`question`
+-- The key is written within the same transaction as the Question, so it is rolled back together with it.
+-- The unique index serves the retry look-up and rejects concurrent saves of the same key.
+-- NULL (no key) may occur any number of times.
+-- -----------------------------------------------------
+ALTER TABLE `quizapplication`.`question`
+    ADD COLUMN `idempotency_key` VARCHAR(64) NULL DEFAULT NULL,
+    ADD UNIQUE INDEX `idempotency_key` (`idempotency_key` ASC) VISIBLE;
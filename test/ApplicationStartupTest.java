@@ -0,0 +1,69 @@
+import main.ApplicationStartup;
+import main.model.entity.Topic;
+import main.util.ConnectionPool;
+import org.junit.jupiter.api.Test;
+import util.JdbcStubs;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the startup on Connection stand-ins, which take a while to open like real connections
+ * and answer the topic query with ARTS 1, CULTURE 2, FOOD 3.
+ */
+class ApplicationStartupTest {
+    private static final long CONNECT_MILLIS = 50;
+    private final AtomicInteger opened = new AtomicInteger();
+
+    private Connection openConnection() throws SQLException {
+        try {
+            Thread.sleep(CONNECT_MILLIS);
+        } catch (InterruptedException e) {
+            throw new SQLException(e);
+        }
+        opened.incrementAndGet();
+        return JdbcStubs.topicConnection();
+    }
+
+    @Test
+    void start_ResolveTopicIdsOnFilledPoolWithoutExtraConnections() throws TimeoutException, InterruptedException {
+        //given
+        ConnectionPool pool = new ConnectionPool(this::openConnection);
+        ApplicationStartup startup = new ApplicationStartup(pool);
+
+        //when
+        startup.start(new ApplicationStartup.StartupSettings(2, List.of(), 0));
+        ApplicationStartup.StartupReport report = startup.awaitReady(Duration.ofSeconds(5));
+
+        //then
+        assertTrue(startup.isReady());
+        assertEquals(Map.of(Topic.ARTS, 1, Topic.CULTURE, 2, Topic.FOOD, 3), startup.topicIds());
+        assertEquals(2, opened.get());
+        assertEquals(2, pool.idleCount());
+        assertTrue(report.connections().toMillis() >= CONNECT_MILLIS);
+        assertTrue(report.total().compareTo(report.connections()) >= 0);
+    }
+
+    @Test
+    void startWithFailingConnections_CompleteExceptionally() throws InterruptedException {
+        //given
+        ConnectionPool pool = new ConnectionPool(() -> {
+            throw new SQLException("Connection refused");
+        });
+        ApplicationStartup startup = new ApplicationStartup(pool);
+
+        //when
+        startup.start(new ApplicationStartup.StartupSettings(2, List.of(), 0));
+
+        //then
+        assertThrows(IllegalStateException.class, () -> startup.awaitReady(Duration.ofSeconds(5)));
+        assertFalse(startup.isReady());
+    }
+}
@@ -0,0 +1,127 @@
+package benchmark;
+
+import main.model.entity.Response;
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Measures dedup and set operations on a question bank with the current QuestionResponse
+ * against the previous implementation (HashSet-copy equality, list hash computed on every call).
+ * Run: java -Xmx4g benchmark.QuestionResponseBenchmark [questions]
+ */
+public class QuestionResponseBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int questionAmount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        List<QuestionResponse> bank = createBank(questionAmount, new Random(42));
+        //Same questions read again, responses in a different order, e.g. from a second query
+        List<QuestionResponse> reread = createBank(questionAmount, new Random(42)).stream()
+                .map(QuestionResponseBenchmark::withReversedResponses)
+                .toList();
+
+        List<LegacyQuestionResponse> legacyBank = bank.stream().map(LegacyQuestionResponse::of).toList();
+        List<LegacyQuestionResponse> legacyReread = reread.stream().map(LegacyQuestionResponse::of).toList();
+
+        System.out.printf("Questions: %,d%n", questionAmount);
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("Round %d%n", round);
+            report("  legacy  dedup", () -> dedup(legacyBank, legacyReread));
+            report("  current dedup", () -> dedup(bank, reread));
+            report("  legacy  containsAll", () -> containsAll(legacyBank, legacyReread));
+            report("  current containsAll", () -> containsAll(bank, reread));
+            report("  legacy  list equals", () -> legacyBank.equals(legacyReread) ? 1 : 0);
+            report("  current list equals", () -> bank.equals(reread) ? 1 : 0);
+        }
+    }
+
+    private static <T> int dedup(List<T> bank, List<T> reread) {
+        Set<T> unique = new HashSet<>(bank);
+        unique.addAll(reread);
+        return unique.size();
+    }
+
+    private static <T> int containsAll(List<T> bank, List<T> reread) {
+        Set<T> unique = new HashSet<>(bank);
+        int found = 0;
+        for (T question : reread) {
+            if (unique.contains(question)) found++;
+        }
+        return found;
+    }
+
+    private static void report(String name, java.util.function.IntSupplier operation) {
+        long start = System.nanoTime();
+        int result = operation.getAsInt();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%-24s %6d ms (result %d)%n", name, millis, result);
+    }
+
+    private static List<QuestionResponse> createBank(int questionAmount, Random random) {
+        Topic[] topics = Topic.values();
+        List<QuestionResponse> bank = new ArrayList<>(questionAmount);
+        for (int questionId = 0; questionId < questionAmount; questionId++) {
+            List<Response> responses = new ArrayList<>(4);
+            responses.add(new Response("True", true));
+            responses.add(new Response("False", false));
+            responses.add(new Response("Answer " + random.nextInt(10_000), false));
+            responses.add(new Response("Answer " + random.nextInt(10_000), true));
+
+            bank.add(new QuestionResponse(
+                    questionId,
+                    topics[questionId % topics.length],
+                    questionId % 10,
+                    "Question content " + questionId,
+                    responses
+            ));
+        }
+        return bank;
+    }
+
+    private static QuestionResponse withReversedResponses(QuestionResponse q) {
+        List<Response> responses = new ArrayList<>(q.responses());
+        Collections.reverse(responses);
+        return new QuestionResponse(q.id(), q.topic(), q.difficultyRankNumber(), q.content(), responses);
+    }
+
+    /**
+     * Equality and hash as implemented before: allocates a HashSet per comparison,
+     * hashes the ordered response list (and boxes every field) on every call.
+     */
+    private record LegacyQuestionResponse(
+            long id,
+            Topic topic,
+            int difficultyRankNumber,
+            String content,
+            List<Response> responses
+    ){
+        static LegacyQuestionResponse of(QuestionResponse q) {
+            return new LegacyQuestionResponse(q.id(), q.topic(), q.difficultyRankNumber(), q.content(), q.responses());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            LegacyQuestionResponse that = (LegacyQuestionResponse) o;
+            return id == that.id
+                    && difficultyRankNumber == that.difficultyRankNumber
+                    && topic == that.topic && content.equals(that.content)
+                    && new HashSet<>(responses).containsAll(that.responses);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, topic, difficultyRankNumber, content, responses);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package benchmark;
+
+import main.model.entity.Response;
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionResponse;
+import main.model.repository.ResponseDictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the retained heap of a question bank parsed with and without the ResponseDictionary.
+ * Rows are simulated the way parseResultSet reads them: every row yields a fresh String from the driver.
+ * Bank: 4 Responses per Question, half of them True/False, the rest drawn from a skewed pool of common answers.
+ * Run: java -Xmx2g benchmark.ResponseDictionaryBenchmark [questions]
+ */
+public class ResponseDictionaryBenchmark {
+    private static final int DISTINCT_ANSWERS = 20_000;
+
+    public static void main(String[] args) {
+        int questionAmount = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+
+        long withoutDictionary = measure(questionAmount, null);
+        long withDictionary = measure(questionAmount, new ResponseDictionary(100_000));
+
+        System.out.printf("Questions: %d, Responses: %d%n", questionAmount, questionAmount * 4L);
+        System.out.printf("Without dictionary: %,d KB%n", withoutDictionary / 1024);
+        System.out.printf("With dictionary:    %,d KB%n", withDictionary / 1024);
+        System.out.printf("Saved:              %.1f %%%n", 100.0 * (withoutDictionary - withDictionary) / withoutDictionary);
+    }
+
+    private static long measure(int questionAmount, ResponseDictionary dictionary) {
+        long before = usedHeap();
+        List<QuestionResponse> bank = createBank(questionAmount, dictionary);
+        long after = usedHeap();
+
+        //Keep the bank reachable until measured
+        if (bank.size() != questionAmount) throw new IllegalStateException();
+        return after - before;
+    }
+
+    private static List<QuestionResponse> createBank(int questionAmount, ResponseDictionary dictionary) {
+        Random random = new Random(42);
+        Topic[] topics = Topic.values();
+        List<QuestionResponse> bank = new ArrayList<>(questionAmount);
+
+        for (int questionId = 0; questionId < questionAmount; questionId++) {
+            List<Response> responses = new ArrayList<>(4);
+            for (int i = 0; i < 4; i++) {
+                long responseId;
+                String text;
+                boolean correct;
+                if (i < 2) {
+                    responseId = i;
+                    text = i == 0 ? "True" : "False";
+                    correct = i == 0;
+                } else {
+                    //Skewed towards few common answers
+                    int answer = (int) (DISTINCT_ANSWERS * Math.pow(random.nextDouble(), 3));
+                    responseId = 2 + answer;
+                    text = "Common answer number " + answer;
+                    correct = false;
+                }
+                responses.add(readResponse(dictionary, responseId, text, correct));
+            }
+
+            bank.add(new QuestionResponse(
+                    questionId,
+                    topics[questionId % topics.length],
+                    questionId % 10,
+                    "Question content " + questionId,
+                    responses
+            ));
+        }
+        return bank;
+    }
+
+    private static Response readResponse(ResponseDictionary dictionary, long responseId, String text, boolean correct) {
+        if (dictionary != null) {
+            Response cached = dictionary.find(responseId);
+            if (cached != null) return cached;
+        }
+        //A driver hands out a new String per row
+        Response response = new Response(new String(text.toCharArray()), correct);
+        return dictionary == null ? response : dictionary.canonicalize(responseId, response);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,171 @@
+package benchmark;
+
+import main.util.DelegatingConnection;
+import main.util.DelegatingPreparedStatement;
+import main.util.DelegatingResultSet;
+import main.util.SlowQueryLog;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Measures the overhead of the SlowQueryLog on reading a result shaped like DaoQuestion.retrieveQuestions()
+ * (7 columns per row) from an in-memory driver, so the wrapper cost isn't hidden behind network time:
+ * unwrapped, wrapped by the SlowQueryLog (with and without a fetch size)
+ * and wrapped by the previous reflective Proxy implementation.
+ * Run: java benchmark.SlowQueryLogBenchmark [rows]
+ */
+public class SlowQueryLogBenchmark {
+    private static final int ROUNDS = 5;
+    private static final String SQL = "SELECT q.id as question_id, q.difficultyRankNumber as difficulty, q.content, t.topicName as topic, r.id as response_id, r.text, r.correct FROM question_response qr";
+
+    public static void main(String[] args) throws SQLException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        Connection unwrapped = new InMemoryConnection(rows, 0);
+        Connection timed = new SlowQueryLog(Duration.ofMillis(200), 20).wrap(unwrapped);
+        //Rows fetched lazily, every next() is timed
+        Connection timedFetch = new SlowQueryLog(Duration.ofMillis(200), 20).wrap(new InMemoryConnection(rows, 100));
+        Connection legacy = legacyWrap(unwrapped);
+
+        System.out.printf("Rows: %,d%n", rows);
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("Round %d%n", round);
+            report("  unwrapped", unwrapped, rows);
+            report("  slow query log", timed, rows);
+            report("  with fetch size", timedFetch, rows);
+            report("  legacy proxy", legacy, rows);
+        }
+    }
+
+    private static void report(String name, Connection connection, int rows) throws SQLException {
+        long start = System.nanoTime();
+        long checksum = readAll(connection);
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%-18s %6d ms %6.1f ns/row (checksum %d)%n", name, nanos / 1_000_000, (double) nanos / rows, checksum);
+    }
+
+    /**
+     * Reads every column the way parseResultSet does.
+     */
+    private static long readAll(Connection connection) throws SQLException {
+        long checksum = 0;
+        try (PreparedStatement statement = connection.prepareStatement(SQL)) {
+            ResultSet rs = statement.executeQuery();
+            while (rs.next()) {
+                checksum += rs.getInt("question_id");
+                checksum += rs.getLong("response_id");
+                checksum += rs.getInt("difficulty");
+                checksum += rs.getString("content").length();
+                checksum += rs.getString("topic").length();
+                checksum += rs.getString("text").length();
+                if (rs.getBoolean("correct")) checksum++;
+            }
+            rs.close();
+        }
+        return checksum;
+    }
+
+    /**
+     * Forwards every ResultSet call by reflection, as the SlowQueryLog did before.
+     */
+    private static Connection legacyWrap(Connection connection) {
+        return new DelegatingConnection(connection) {
+            @Override
+            public PreparedStatement prepareStatement(String sql) throws SQLException {
+                return new DelegatingPreparedStatement(delegate.prepareStatement(sql)) {
+                    @Override
+                    public ResultSet executeQuery() throws SQLException {
+                        ResultSet rs = delegate.executeQuery();
+                        long[] rows = new long[1];
+                        return (ResultSet) Proxy.newProxyInstance(
+                                ResultSet.class.getClassLoader(),
+                                new Class<?>[]{ResultSet.class},
+                                (proxy, method, args) -> {
+                                    try {
+                                        Object result = method.invoke(rs, args);
+                                        if (method.getName().equals("next") && (Boolean) result) rows[0]++;
+                                        return result;
+                                    } catch (InvocationTargetException e) {
+                                        throw e.getCause();
+                                    }
+                                }
+                        );
+                    }
+                };
+            }
+        };
+    }
+
+    private static final class InMemoryConnection extends DelegatingConnection {
+        private final int rows;
+        private final int fetchSize;
+
+        private InMemoryConnection(int rows, int fetchSize) {
+            super(null);
+            this.rows = rows;
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql) {
+            return new DelegatingPreparedStatement(null) {
+                @Override
+                public ResultSet executeQuery() {
+                    return new InMemoryResultSet(rows);
+                }
+
+                @Override
+                public int getFetchSize() {
+                    return fetchSize;
+                }
+
+                @Override
+                public void close() { }
+            };
+        }
+    }
+
+    private static final class InMemoryResultSet extends DelegatingResultSet {
+        private final int rows;
+        private int row;
+
+        private InMemoryResultSet(int rows) {
+            super(null);
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean next() {
+            return row++ < rows;
+        }
+
+        @Override
+        public int getInt(String columnLabel) {
+            return row & 1023;
+        }
+
+        @Override
+        public long getLong(String columnLabel) {
+            return row;
+        }
+
+        @Override
+        public String getString(String columnLabel) {
+            return columnLabel;
+        }
+
+        @Override
+        public boolean getBoolean(String columnLabel) {
+            return (row & 1) == 0;
+        }
+
+        @Override
+        public void close() { }
+    }
+}
@@ -0,0 +1,78 @@
+package benchmark;
+
+import main.ApplicationStartup;
+import main.model.repository.DaoQuestion;
+import main.model.repository.DaoResponse;
+import main.model.repository.DaoTopic;
+import main.util.DatabaseConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Compares the latency of the first findQuestionById(...) of a fresh JVM without and with ApplicationStartup.
+ * cold: opens a connection and queries right away, paying for connecting, topic look-ups and class loading.
+ * warm: waits for ApplicationStartup (configured by application.config), then queries on a pooled connection.
+ * Each mode has to run in its own JVM, as the first run would warm the second.
+ * Run: java benchmark.StartupBenchmark cold; java benchmark.StartupBenchmark warm
+ */
+public class StartupBenchmark {
+
+    public static void main(String[] args) throws SQLException, TimeoutException, InterruptedException {
+        boolean warm = args.length > 0 && args[0].equalsIgnoreCase("warm");
+        long start = System.nanoTime();
+
+        Connection connection;
+        DaoQuestion daoQuestion;
+        ApplicationStartup startup = null;
+        if (warm) {
+            startup = new ApplicationStartup();
+            startup.start();
+            ApplicationStartup.StartupReport report = startup.awaitReady(Duration.ofMinutes(1));
+            System.out.println("Startup: " + report);
+            connection = startup.connectionPool().borrow();
+            daoQuestion = startup.createDaoQuestion(connection);
+        } else {
+            connection = DatabaseConnector.openConnection();
+            daoQuestion = new DaoQuestion(connection, new DaoTopic(connection), new DaoResponse(connection));
+        }
+        Duration ready = since(start);
+
+        long questionId = anyQuestionId();
+        long queryStart = System.nanoTime();
+        boolean found = daoQuestion.findQuestionById(questionId).isPresent();
+        Duration firstQuery = since(queryStart);
+
+        System.out.printf("Mode: %s, ready after %d ms, first findQuestionById %.2f ms (found %b)%n",
+                warm ? "warm" : "cold", ready.toMillis(), firstQuery.toNanos() / 1e6, found);
+
+        if (startup != null) {
+            startup.connectionPool().release(connection);
+            startup.connectionPool().close();
+        } else {
+            connection.close();
+        }
+    }
+
+    /**
+     * Picks a Question on a separate connection with plain JDBC, so the DAO paths stay cold.
+     */
+    private static long anyQuestionId() throws SQLException {
+        try (
+                Connection connection = DatabaseConnector.openConnection();
+                PreparedStatement statement = connection.prepareStatement("SELECT id FROM question LIMIT 1");
+                ResultSet rs = statement.executeQuery()
+        ) {
+            if (!rs.next()) throw new IllegalStateException("The question table is empty, seed it first, e.g. with main.loadtest.LoadGenerator");
+            return rs.getLong(1);
+        }
+    }
+
+    private static Duration since(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,58 @@
+package loadtest;
+
+import main.loadtest.LatencyRecorder;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+    @Test
+    void recordNothing_ReturnZeroPercentiles() {
+        //given
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        //then
+        assertEquals(0, recorder.count());
+        assertEquals(Duration.ZERO, recorder.percentile(99));
+    }
+
+    @Test
+    void recordUniformLatencies_ReturnPercentilesWithinBucketError() {
+        //given
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        //when 1 ms to 1000 ms
+        for (long millis = 1; millis <= 1_000; millis++) {
+            recorder.record(millis * 1_000_000);
+        }
+
+        //then
+        assertEquals(1_000, recorder.count());
+        assertEquals(500, recorder.percentile(50).toMillis(), 500 * 0.02);
+        assertEquals(990, recorder.percentile(99).toMillis(), 990 * 0.02);
+        assertEquals(999, recorder.percentile(99.9).toMillis(), 999 * 0.02);
+        assertEquals(Duration.ofMillis(1_000), recorder.max());
+        assertEquals(Duration.ofMillis(1_000), recorder.percentile(100));
+    }
+
+    @Test
+    void recordFewOutliers_ReturnOutliersOnlyInHighPercentiles() {
+        //given
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        //when
+        for (int i = 0; i < 9_990; i++) {
+            recorder.record(100_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            recorder.record(2_000_000_000L);
+        }
+
+        //then
+        assertEquals(100, recorder.percentile(99).toNanos() / 1_000);
+        assertEquals(2_000, recorder.percentile(99.95).toMillis(), 2_000 * 0.02);
+    }
+}
@@ -0,0 +1,185 @@
+package loadtest;
+
+import main.loadtest.LoadGenerator;
+import main.loadtest.LoadGenerator.LoadProfile;
+import main.loadtest.LoadGenerator.LoadReport;
+import main.loadtest.LoadGenerator.Operation;
+import main.loadtest.LoadGenerator.OperationReport;
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionRequest;
+import main.model.entity.dto.QuestionResponse;
+import main.model.repository.QuestionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the generator against an in-memory repository, to run it against a Database use LoadGenerator.main.
+ */
+class LoadGeneratorTest {
+    private final SlowQuestionRepository repository = new SlowQuestionRepository();
+
+    @Test
+    void seedBank_ReturnConfiguredAmountOfQuestions() {
+        //given
+        LoadProfile profile = new LoadProfile(100, Duration.ofMillis(100), Duration.ZERO, 1_234, 4, LoadProfile.defaultMix());
+
+        //when
+        try (LoadGenerator generator = new LoadGenerator(() -> repository, profile)) {
+            int seeded = generator.seedBank();
+
+            //then
+            assertEquals(1_234, seeded);
+            assertEquals(1_234, repository.questions.size());
+        }
+    }
+
+    @Test
+    void seedBankWithFailingSaves_ReturnNoQuestionsInsteadOfThrowing() {
+        //given
+        repository.failSaves = true;
+        LoadProfile profile = new LoadProfile(100, Duration.ofMillis(100), Duration.ZERO, 1_234, 4, LoadProfile.defaultMix());
+
+        //when
+        try (LoadGenerator generator = new LoadGenerator(() -> repository, profile)) {
+            int seeded = generator.seedBank();
+
+            //then
+            assertEquals(0, seeded);
+        }
+    }
+
+    @Test
+    void runDefaultMix_ReturnEveryOperationAtTargetRate() throws InterruptedException {
+        //given
+        LoadProfile profile = new LoadProfile(1_000, Duration.ofSeconds(1), Duration.ofMillis(200), 500, 8, LoadProfile.defaultMix());
+
+        try (LoadGenerator generator = new LoadGenerator(() -> repository, profile)) {
+            generator.seedBank();
+
+            //when
+            LoadReport report = generator.run();
+
+            //then
+            assertEquals(1_000, report.scheduled());
+            assertEquals(0, report.unfinished());
+            assertEquals(5, report.operations().size());
+            assertEquals(1_000, report.operations().stream().mapToLong(OperationReport::count).sum());
+            report.operations().forEach(operation -> {
+                assertTrue(operation.count() > 0, operation.operation() + " was not executed");
+                assertTrue(operation.errors() == 0, operation.operation() + " failed");
+                assertTrue(operation.p50().compareTo(operation.p999()) <= 0);
+            });
+        }
+    }
+
+    @Test
+    void runAboveCapacity_ReturnLatencyIncludingQueueing() throws InterruptedException {
+        //given one thread serving 1 ms operations at 2000 per second
+        repository.delayMillis = 1;
+        LoadProfile profile = new LoadProfile(2_000, Duration.ofMillis(500), Duration.ZERO, 10, 1, Map.of(Operation.FIND_BY_ID, 1));
+
+        try (LoadGenerator generator = new LoadGenerator(() -> repository, profile)) {
+            generator.seedBank();
+
+            //when
+            LoadReport report = generator.run();
+
+            //then the backlog builds up, a closed model would report about 1 ms
+            OperationReport find = report.operations().get(0);
+            assertTrue(find.p99().toMillis() >= 200, "p99 was " + find.p99().toMillis() + " ms");
+        }
+    }
+
+    @Test
+    void runWithFailingReads_ReturnEveryReadAsError() throws InterruptedException {
+        //given
+        LoadProfile profile = new LoadProfile(
+                500, Duration.ofMillis(500), Duration.ZERO, 100, 4, Map.of(Operation.FIND_BY_ID, 1, Operation.SEARCH_BY_TOPIC, 1));
+
+        try (LoadGenerator generator = new LoadGenerator(() -> repository, profile)) {
+            generator.seedBank();
+            repository.failReads = true;
+
+            //when
+            LoadReport report = generator.run();
+
+            //then
+            report.operations().stream()
+                    .filter(operation -> operation.count() > 0)
+                    .forEach(operation -> assertTrue(operation.errors() == operation.count(),
+                            operation.operation() + " reported " + operation.errors() + " of " + operation.count() + " errors"));
+            assertTrue(report.operations().stream().mapToLong(OperationReport::errors).sum() > 0);
+        }
+    }
+
+    private static class SlowQuestionRepository implements QuestionRepository {
+        private final Map<Long, QuestionResponse> questions = new ConcurrentHashMap<>();
+        private final AtomicLong nextId = new AtomicLong(1);
+        private volatile long delayMillis = 0;
+        //Reads fail the way DaoQuestion reports SQL failures: with an empty result
+        private volatile boolean failReads = false;
+        private volatile boolean failSaves = false;
+
+        private void delay() {
+            try {
+                if (delayMillis > 0) Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public List<QuestionResponse> retrieveQuestions() {
+            delay();
+            return new ArrayList<>(questions.values());
+        }
+
+        @Override
+        public Long saveQuestion(QuestionRequest request) {
+            delay();
+            if (failSaves) throw new IllegalStateException("Database unavailable");
+            long id = nextId.getAndIncrement();
+            questions.put(id, toResponse(id, request));
+            return id;
+        }
+
+        @Override
+        public boolean updateQuestionById(long id, QuestionRequest newQuestion) {
+            delay();
+            return questions.replace(id, toResponse(id, newQuestion)) != null;
+        }
+
+        @Override
+        public boolean deleteQuestionById(long id) {
+            delay();
+            return questions.remove(id) != null;
+        }
+
+        @Override
+        public List<QuestionResponse> searchQuestionByTopic(Topic topic) {
+            delay();
+            if (failReads) return List.of();
+            return questions.values().stream().filter(question -> question.topic() == topic).toList();
+        }
+
+        @Override
+        public Optional<QuestionResponse> findQuestionById(long id) {
+            delay();
+            if (failReads) return Optional.empty();
+            return Optional.ofNullable(questions.get(id));
+        }
+
+        private static QuestionResponse toResponse(long id, QuestionRequest request) {
+            return new QuestionResponse(id, request.topic(), request.difficultyRankNumber(), request.content(), request.responses());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package model.entity.dto;
+
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionRequestTest {
+
+    @Test
+    void createWithTooLongIdempotencyKey_ReturnIllegalArgumentException() {
+        //given
+        String maxKey = "k".repeat(QuestionRequest.MAX_IDEMPOTENCY_KEY_LENGTH);
+
+        //then
+        assertEquals(maxKey, new QuestionRequest(Topic.ARTS, 1, "Test", List.of(), maxKey).idempotencyKey());
+        assertThrows(IllegalArgumentException.class, () -> new QuestionRequest(Topic.ARTS, 1, "Test", List.of(), maxKey + "k"));
+    }
+}
@@ -0,0 +1,70 @@
+package model.entity.dto;
+
+import main.model.entity.Response;
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionResponseTest {
+    private final Response trueResponse = new Response("True", true);
+    private final Response falseResponse = new Response("False", false);
+
+    private QuestionResponse createQuestion(Response... responses) {
+        return new QuestionResponse(1, Topic.ARTS, 5, "Test", List.of(responses));
+    }
+
+    @Test
+    void compareWithReorderedResponses_ReturnEqualWithSameHash() {
+        //given
+        QuestionResponse question = createQuestion(trueResponse, falseResponse);
+        QuestionResponse reordered = createQuestion(falseResponse, trueResponse);
+
+        //then
+        assertEquals(question, reordered);
+        assertEquals(reordered, question);
+        assertEquals(question.hashCode(), reordered.hashCode());
+    }
+
+    @Test
+    void compareWithSubsetOfResponses_ReturnNotEqualInBothDirections() {
+        //given
+        QuestionResponse question = createQuestion(trueResponse, falseResponse);
+        QuestionResponse subset = createQuestion(trueResponse);
+
+        //then
+        assertNotEquals(question, subset);
+        assertNotEquals(subset, question);
+    }
+
+    @Test
+    void compareWithDifferentDuplicateResponses_ReturnNotEqual() {
+        //given
+        QuestionResponse question = createQuestion(trueResponse, trueResponse, falseResponse);
+        QuestionResponse other = createQuestion(trueResponse, falseResponse, falseResponse);
+
+        //then
+        assertNotEquals(question, other);
+        assertNotEquals(other, question);
+    }
+
+    @Test
+    void modifyResponsesAfterConstruction_KeepQuestionAndHashUnchanged() {
+        //given
+        List<Response> responses = new ArrayList<>(List.of(trueResponse, falseResponse));
+        QuestionResponse question = new QuestionResponse(1, Topic.ARTS, 5, "Test", responses);
+        int hash = question.hashCode();
+
+        //when
+        responses.add(trueResponse);
+
+        //then
+        assertEquals(2, question.responses().size());
+        assertEquals(hash, question.hashCode());
+        assertThrows(UnsupportedOperationException.class, () -> question.responses().add(trueResponse));
+    }
+}
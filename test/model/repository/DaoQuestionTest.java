@@ -7,6 +7,8 @@ import main.model.entity.dto.QuestionResponse;
 import main.model.repository.DaoQuestion;
 import main.model.repository.DaoResponse;
 import main.model.repository.DaoTopic;
+import main.model.repository.QuestionChangeListener;
+import main.model.repository.QuestionIngestionQueue;
 import main.util.DatabaseConnector;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -15,19 +17,23 @@ import org.junit.jupiter.api.Test;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class DaoQuestionTest {
+    private static Connection connection;
     private static DaoQuestion daoQuestion;
 
     @BeforeAll
     static void beforeAll() {
         try {
-            Connection connection = DatabaseConnector.getConnection();
+            connection = DatabaseConnector.getConnection();
 
             connection.setAutoCommit(true);
             DaoTopic daoTopic = new DaoTopic(connection);
@@ -97,6 +103,164 @@ class DaoQuestionTest {
         assertEquals(1, daoQuestion.retrieveQuestions().size());
     }
 
+    @Test
+    void saveQuestionsWithRepeatedResponse_LinkResponseOnce() {
+        //given
+        Response response = new Response("Repeated Response", true);
+        QuestionRequest request = new QuestionRequest(Topic.FOOD, 1, "Test 1", List.of(response, response));
+
+        //when
+        Long questionId = daoQuestion.saveQuestion(request);
+        List<Long> questionIds = daoQuestion.saveQuestions(List.of(request));
+
+        //then
+        assertNotNull(questionId);
+        assertNotNull(questionIds);
+        assertEquals(List.of(response), daoQuestion.findQuestionById(questionId).get().responses());
+        assertEquals(List.of(response), daoQuestion.findQuestionById(questionIds.get(0)).get().responses());
+    }
+
+    @Test
+    void saveQuestionRetryWithIdempotencyKey_ReturnOriginalQuestionId() {
+        //given
+        QuestionRequest question = createQuestion(Topic.FOOD, "Test 1");
+        QuestionRequest request = new QuestionRequest(
+                question.topic(),
+                question.difficultyRankNumber(),
+                question.content(),
+                question.responses(),
+                "retry-key-1"
+        );
+        Long questionId = daoQuestion.saveQuestion(request);
+
+        //when
+        Long retriedQuestionId = daoQuestion.saveQuestion(request);
+
+        //then
+        assertNotNull(questionId);
+        assertEquals(questionId, retriedQuestionId);
+        assertEquals(1, daoQuestion.retrieveQuestions().size());
+    }
+
+    @Test
+    void saveQuestionRetryWithIdempotencyKeyAfterRollback_ReturnSavedQuestion() throws SQLException {
+        //given
+        QuestionRequest question = createQuestion(Topic.FOOD, "Test 1");
+        QuestionRequest request = new QuestionRequest(
+                question.topic(),
+                question.difficultyRankNumber(),
+                question.content(),
+                question.responses(),
+                "retry-key-2"
+        );
+        assertNotNull(daoQuestion.saveQuestion(request));
+        DatabaseConnector.rollbackChanges();
+
+        //when
+        Long retriedQuestionId = daoQuestion.saveQuestion(request);
+
+        //then
+        assertNotNull(retriedQuestionId);
+        Optional<QuestionResponse> savedQuestion = daoQuestion.findQuestionById(retriedQuestionId);
+        assertTrue(savedQuestion.isPresent());
+        assertEquals(request.content(), savedQuestion.get().content());
+        assertEquals(1, daoQuestion.retrieveQuestions().size());
+    }
+
+    @Test
+    void saveQuestionWithinRolledBackTransaction_NotifyListenersNever() throws SQLException {
+        //given
+        List<Long> savedIds = new ArrayList<>();
+        DaoQuestion listenedDaoQuestion = new DaoQuestion(connection, new DaoTopic(connection), new DaoResponse(connection));
+        listenedDaoQuestion.addChangeListener(new QuestionChangeListener() {
+            @Override
+            public void questionSaved(long id, QuestionRequest request) {
+                savedIds.add(id);
+            }
+
+            @Override
+            public void questionUpdated(QuestionResponse oldQuestion, QuestionRequest newQuestion) { }
+
+            @Override
+            public void questionDeleted(QuestionResponse oldQuestion) { }
+        });
+
+        //when
+        Long questionId = listenedDaoQuestion.saveQuestion(createQuestion(Topic.FOOD, "Test 1"));
+        assertNotNull(questionId);
+        assertTrue(savedIds.isEmpty());
+        DatabaseConnector.rollbackChanges();
+
+        //then
+        assertTrue(savedIds.isEmpty());
+    }
+
+    @Test
+    void saveQuestionsInBatch_ReturnIdsInRequestOrder() {
+        //given
+        List<QuestionRequest> questionList = new ArrayList<>();
+        questionList.addAll(createQuestions(Topic.ARTS, 3));
+        questionList.add(createQuestion(Topic.FOOD, "Test 1"));
+
+        //when
+        List<Long> questionIds = daoQuestion.saveQuestions(questionList);
+
+        //then
+        assertNotNull(questionIds);
+        assertEquals(questionList.size(), questionIds.size());
+        for (int i = 0; i < questionList.size(); i++) {
+            QuestionRequest request = questionList.get(i);
+            QuestionResponse expected = new QuestionResponse(
+                    questionIds.get(i),
+                    request.topic(),
+                    request.difficultyRankNumber(),
+                    request.content(),
+                    request.responses()
+            );
+            assertEquals(expected, daoQuestion.findQuestionById(questionIds.get(i)).get());
+        }
+    }
+
+    @Test
+    void submitQuestionsToIngestionQueue_ReturnAllQuestionsSavedOnClose() throws InterruptedException, ExecutionException {
+        //given
+        int amount = 25;
+        List<QuestionRequest> questionList = createQuestions(Topic.CULTURE, amount);
+        QuestionIngestionQueue ingestionQueue = new QuestionIngestionQueue(daoQuestion, 10, 8, Duration.ofMillis(50), Duration.ofSeconds(5));
+
+        //when
+        List<CompletableFuture<Long>> futureIds = new ArrayList<>();
+        for (QuestionRequest request : questionList) {
+            futureIds.add(ingestionQueue.submit(request));
+        }
+        ingestionQueue.close();
+
+        //then
+        for (CompletableFuture<Long> futureId : futureIds) {
+            assertTrue(futureId.isDone());
+            assertNotNull(futureId.get());
+        }
+        assertEquals(amount, daoQuestion.searchQuestionByTopic(Topic.CULTURE).size());
+    }
+
+    @Test
+    void submitFaultyQuestionToIngestionQueue_CompleteExceptionallyAndKeepWriting() throws InterruptedException, ExecutionException {
+        //given
+        QuestionIngestionQueue ingestionQueue = new QuestionIngestionQueue(daoQuestion, 10, 8, Duration.ofMillis(50), Duration.ofSeconds(5));
+        QuestionRequest faultyRequest = new QuestionRequest(Topic.CULTURE, 1, "Faulty Content", null);
+
+        //when
+        CompletableFuture<Long> faultyId = ingestionQueue.submit(faultyRequest);
+        assertThrows(ExecutionException.class, faultyId::get);
+        CompletableFuture<Long> validId = ingestionQueue.submit(createQuestions(Topic.CULTURE, 1).get(0));
+        ingestionQueue.close();
+
+        //then
+        assertTrue(validId.isDone());
+        assertNotNull(validId.get());
+        assertEquals(1, daoQuestion.searchQuestionByTopic(Topic.CULTURE).size());
+    }
+
     @Test
     void searchQuestionByExistingTopic_ReturnListOfQuestionsForTopic() {
         //given
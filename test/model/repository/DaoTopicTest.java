@@ -0,0 +1,60 @@
+package model.repository;
+
+import main.model.entity.Topic;
+import main.model.repository.DaoTopic;
+import org.junit.jupiter.api.Test;
+import util.JdbcStubs;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Covers the Topic-Id cache, the statements are answered by stand-ins without a Database.
+ */
+class DaoTopicTest {
+    private final JdbcStubs.StubConnection connection = JdbcStubs.topicConnection();
+
+    @Test
+    void getTopicIdByNameOfKnownTopic_ReturnIdWithoutQuery() throws SQLException {
+        //given
+        DaoTopic daoTopic = new DaoTopic(connection, Map.of(Topic.FOOD, 7));
+
+        //when
+        int topicId = daoTopic.getTopicIdByName(Topic.FOOD);
+
+        //then
+        assertEquals(7, topicId);
+        assertEquals(0, connection.preparedCount());
+    }
+
+    @Test
+    void getTopicIdByNameTwice_QueryOnlyOnce() throws SQLException {
+        //given
+        DaoTopic daoTopic = new DaoTopic(connection);
+
+        //when
+        int first = daoTopic.getTopicIdByName(Topic.ARTS);
+        int second = daoTopic.getTopicIdByName(Topic.ARTS);
+
+        //then
+        assertEquals(1, first);
+        assertEquals(1, second);
+        assertEquals(1, connection.preparedCount());
+    }
+
+    @Test
+    void preloadTopicIds_ReturnAllIdsAndServeLookUpsFromCache() throws SQLException {
+        //given
+        DaoTopic daoTopic = new DaoTopic(connection);
+
+        //when
+        Map<Topic, Integer> topicIds = daoTopic.preloadTopicIds();
+
+        //then
+        assertEquals(Map.of(Topic.ARTS, 1, Topic.CULTURE, 2, Topic.FOOD, 3), topicIds);
+        assertEquals(3, daoTopic.getTopicIdByName(Topic.FOOD));
+        assertEquals(1, connection.preparedCount());
+    }
+}
@@ -0,0 +1,79 @@
+package model.repository;
+
+import main.model.entity.Response;
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionRequest;
+import main.model.entity.dto.QuestionResponse;
+import main.model.repository.QuestionStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionStatisticsTest {
+    //Counters are maintained from the change notifications, no connection required
+    private final QuestionStatistics statistics = new QuestionStatistics(null);
+
+    private QuestionRequest createQuestion(Topic topic, int difficulty, Response... responses) {
+        return new QuestionRequest(topic, difficulty, "Test", List.of(responses));
+    }
+
+    @Test
+    void saveQuestions_ReturnCountsPerTopicAndDifficulty() {
+        //given
+        statistics.questionSaved(1, createQuestion(Topic.ARTS, 5, new Response("True", true)));
+        statistics.questionSaved(2, createQuestion(Topic.ARTS, 5, new Response("False", false)));
+        statistics.questionSaved(3, createQuestion(Topic.ARTS, 2, new Response("True", true)));
+
+        //then
+        assertEquals(2, statistics.countQuestions(Topic.ARTS, 5));
+        assertEquals(1, statistics.countQuestions(Topic.ARTS, 2));
+        assertEquals(0, statistics.countQuestions(Topic.FOOD, 5));
+        assertEquals(Map.of(2, 1L, 5, 2L), statistics.countQuestionsByDifficulty(Topic.ARTS));
+    }
+
+    @Test
+    void updateQuestion_ReturnCountsMovedToNewTopicAndResponses() {
+        //given
+        QuestionRequest request = createQuestion(Topic.ARTS, 5, new Response("True", true), new Response("False", false));
+        statistics.questionSaved(1, request);
+        QuestionResponse oldQuestion = new QuestionResponse(1, request.topic(), request.difficultyRankNumber(), request.content(), request.responses());
+
+        //when
+        statistics.questionUpdated(oldQuestion, createQuestion(Topic.FOOD, 3, new Response("True", true)));
+
+        //then
+        assertEquals(0, statistics.countQuestions(Topic.ARTS, 5));
+        assertEquals(1, statistics.countQuestions(Topic.FOOD, 3));
+        assertEquals(Map.of(1, 1L), statistics.responseCountDistribution());
+        assertEquals(1.0, statistics.correctResponseRatio(), 0.0001);
+    }
+
+    @Test
+    void deleteQuestion_ReturnEmptyStatistics() {
+        //given
+        QuestionRequest request = createQuestion(Topic.CULTURE, 1, new Response("True", true), new Response("False", false));
+        statistics.questionSaved(1, request);
+        assertEquals(0.5, statistics.correctResponseRatio(), 0.0001);
+
+        //when
+        statistics.questionDeleted(new QuestionResponse(1, request.topic(), request.difficultyRankNumber(), request.content(), request.responses()));
+
+        //then
+        assertEquals(0, statistics.countQuestions(Topic.CULTURE, 1));
+        assertTrue(statistics.responseCountDistribution().isEmpty());
+        assertEquals(0, statistics.correctResponseRatio(), 0.0001);
+    }
+
+    @Test
+    void saveQuestionWithDuplicateResponses_ReturnEveryResponseCountedOnce() {
+        //given
+        statistics.questionSaved(1, createQuestion(Topic.ARTS, 5, new Response("True", true), new Response("True", true), new Response("False", false)));
+
+        //then
+        assertEquals(Map.of(2, 1L), statistics.responseCountDistribution());
+        assertEquals(0.5, statistics.correctResponseRatio(), 0.0001);
+    }
+}
@@ -0,0 +1,51 @@
+package model.repository;
+
+import main.model.entity.Response;
+import main.model.repository.ResponseDictionary;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseDictionaryTest {
+
+    @Test
+    void canonicalizeKnownResponse_ReturnCachedInstance() {
+        //given
+        ResponseDictionary dictionary = new ResponseDictionary(10);
+        Response cached = dictionary.canonicalize(1, new Response("True", true));
+
+        //when
+        Response canonical = dictionary.canonicalize(1, new Response("True", true));
+
+        //then
+        assertSame(cached, canonical);
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    void canonicalizeWhenFull_EvictResponseNotFoundSinceLastSweep() {
+        //given
+        ResponseDictionary dictionary = new ResponseDictionary(2);
+        dictionary.canonicalize(1, new Response("True", true));
+        dictionary.canonicalize(2, new Response("False", false));
+        dictionary.find(1);
+
+        //when the sweep gives the found Response a second chance
+        Response added = dictionary.canonicalize(3, new Response("Maybe", false));
+
+        //then
+        assertSame(added, dictionary.find(3));
+        assertNotNull(dictionary.find(1));
+        assertNull(dictionary.find(2));
+        assertEquals(2, dictionary.size());
+
+        //when both were found since, the hand clears their flags and drops the first one it passes again
+        dictionary.canonicalize(4, new Response("Never", false));
+
+        //then
+        assertNull(dictionary.find(1));
+        assertNotNull(dictionary.find(3));
+        assertNotNull(dictionary.find(4));
+        assertEquals(2, dictionary.size());
+    }
+}
@@ -0,0 +1,221 @@
+package model.repository;
+
+import main.model.entity.Response;
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionRequest;
+import main.model.entity.dto.QuestionResponse;
+import main.model.repository.QuestionRepository;
+import main.model.repository.ShardedQuestionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each shard stands in for its own Database. For shards on real Databases
+ * pass one DaoQuestion per connection of DatabaseConnector.getShardConnections().
+ */
+class ShardedQuestionRepositoryTest {
+    private final List<InMemoryQuestionRepository> shards = List.of(
+            new InMemoryQuestionRepository(),
+            new InMemoryQuestionRepository()
+    );
+    private final ShardedQuestionRepository repository = new ShardedQuestionRepository(List.copyOf(shards));
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    private QuestionRequest createQuestion(Topic topic, String content) {
+        return new QuestionRequest(topic, 5, content, List.of(new Response("True", true)));
+    }
+
+    @Test
+    void saveQuestionsOfSeveralTopics_ReturnQuestionsStoredOnTopicShard() {
+        //when
+        repository.saveQuestion(createQuestion(Topic.ARTS, "Arts"));
+        repository.saveQuestion(createQuestion(Topic.CULTURE, "Culture"));
+        repository.saveQuestion(createQuestion(Topic.FOOD, "Food"));
+
+        //then
+        for (int shard = 0; shard < shards.size(); shard++) {
+            for (QuestionResponse question : shards.get(shard).retrieveQuestions()) {
+                assertEquals(shard, repository.shardFor(question.topic()));
+            }
+        }
+        assertEquals(3, repository.retrieveQuestions().size());
+    }
+
+    @Test
+    void findQuestionBySavedId_ReturnQuestionFromItsShard() {
+        //given
+        Long artsId = repository.saveQuestion(createQuestion(Topic.ARTS, "Arts"));
+        Long cultureId = repository.saveQuestion(createQuestion(Topic.CULTURE, "Culture"));
+
+        //when
+        Optional<QuestionResponse> arts = repository.findQuestionById(artsId);
+        Optional<QuestionResponse> culture = repository.findQuestionById(cultureId);
+
+        //then
+        assertNotEquals(artsId, cultureId);
+        assertEquals("Arts", arts.get().content());
+        assertEquals(artsId, (Long) arts.get().id());
+        assertEquals("Culture", culture.get().content());
+    }
+
+    @Test
+    void searchQuestionByTopic_ReturnOnlyQuestionsOfTopic() {
+        //given
+        repository.saveQuestion(createQuestion(Topic.ARTS, "Arts 1"));
+        repository.saveQuestion(createQuestion(Topic.ARTS, "Arts 2"));
+        repository.saveQuestion(createQuestion(Topic.FOOD, "Food"));
+
+        //when
+        List<QuestionResponse> questions = repository.searchQuestionByTopic(Topic.ARTS);
+
+        //then
+        assertEquals(2, questions.size());
+        questions.forEach(question -> assertEquals(question, repository.findQuestionById(question.id()).get()));
+    }
+
+    @Test
+    void updateQuestionToTopicOnOtherShard_ReturnFailure() {
+        //given
+        Long artsId = repository.saveQuestion(createQuestion(Topic.ARTS, "Arts"));
+
+        //when
+        boolean success = repository.updateQuestionById(artsId, createQuestion(Topic.CULTURE, "Culture"));
+
+        //then
+        assertFalse(success);
+        assertEquals("Arts", repository.findQuestionById(artsId).get().content());
+    }
+
+    @Test
+    void deleteQuestionById_ReturnQuestionRemovedFromShard() {
+        //given
+        Long foodId = repository.saveQuestion(createQuestion(Topic.FOOD, "Food"));
+
+        //when
+        boolean success = repository.deleteQuestionById(foodId);
+
+        //then
+        assertTrue(success);
+        assertTrue(repository.findQuestionById(foodId).isEmpty());
+        assertTrue(repository.retrieveQuestions().isEmpty());
+    }
+
+    @Test
+    void saveQuestionWithConfiguredTopicShards_ReturnQuestionStoredOnConfiguredShard() {
+        //given
+        Map<Topic, Integer> topicShards = new EnumMap<>(Topic.class);
+        topicShards.put(Topic.ARTS, 0);
+        topicShards.put(Topic.FOOD, 1);
+
+        try (ShardedQuestionRepository configured = new ShardedQuestionRepository(List.copyOf(shards), topicShards)) {
+            //when
+            configured.saveQuestion(createQuestion(Topic.FOOD, "Food"));
+            configured.saveQuestion(createQuestion(Topic.ARTS, "Arts"));
+
+            //then
+            assertEquals(1, configured.shardFor(Topic.FOOD));
+            assertEquals("Food", shards.get(1).retrieveQuestions().get(0).content());
+            assertEquals("Arts", shards.get(0).retrieveQuestions().get(0).content());
+        }
+    }
+
+    @Test
+    void createWithTopicOnMissingShard_ThrowIllegalArgumentException() {
+        //given
+        Map<Topic, Integer> topicShards = new EnumMap<>(Topic.class);
+        topicShards.put(Topic.ARTS, shards.size());
+
+        //then
+        assertThrows(IllegalArgumentException.class, () -> new ShardedQuestionRepository(List.copyOf(shards), topicShards));
+    }
+
+    @Test
+    void defaultTopicShards_ReturnPlacementOfDefaultConstructor() {
+        //when
+        Map<Topic, Integer> placement = ShardedQuestionRepository.defaultTopicShards(shards.size());
+
+        //then
+        assertEquals(placement, ShardedQuestionRepository.defaultTopicShards(shards.size()));
+        for (Topic topic : Topic.values()) {
+            assertEquals((int) placement.get(topic), repository.shardFor(topic));
+        }
+    }
+
+    @Test
+    void retrieveQuestionsWithFailingShard_ReturnQuestionsOfOtherShards() {
+        //given
+        Map<Topic, Integer> topicShards = new EnumMap<>(Topic.class);
+        topicShards.put(Topic.ARTS, 0);
+        topicShards.put(Topic.FOOD, 1);
+        shards.get(1).failReads = true;
+
+        try (ShardedQuestionRepository configured = new ShardedQuestionRepository(List.copyOf(shards), topicShards)) {
+            configured.saveQuestion(createQuestion(Topic.ARTS, "Arts"));
+            configured.saveQuestion(createQuestion(Topic.FOOD, "Food"));
+
+            //when
+            List<QuestionResponse> questions = configured.retrieveQuestions();
+
+            //then
+            assertEquals(1, questions.size());
+            assertEquals("Arts", questions.get(0).content());
+        }
+    }
+
+    private static class InMemoryQuestionRepository implements QuestionRepository {
+        private final Map<Long, QuestionResponse> questions = new ConcurrentHashMap<>();
+        private final AtomicLong nextId = new AtomicLong(1);
+        private volatile boolean failReads;
+
+        @Override
+        public List<QuestionResponse> retrieveQuestions() {
+            if (failReads) throw new IllegalStateException("Shard unavailable");
+            return new ArrayList<>(questions.values());
+        }
+
+        @Override
+        public Long saveQuestion(QuestionRequest request) {
+            long id = nextId.getAndIncrement();
+            questions.put(id, toResponse(id, request));
+            return id;
+        }
+
+        @Override
+        public boolean updateQuestionById(long id, QuestionRequest newQuestion) {
+            return questions.replace(id, toResponse(id, newQuestion)) != null;
+        }
+
+        @Override
+        public boolean deleteQuestionById(long id) {
+            return questions.remove(id) != null;
+        }
+
+        @Override
+        public List<QuestionResponse> searchQuestionByTopic(Topic topic) {
+            return questions.values().stream().filter(question -> question.topic() == topic).toList();
+        }
+
+        @Override
+        public Optional<QuestionResponse> findQuestionById(long id) {
+            return Optional.ofNullable(questions.get(id));
+        }
+
+        private static QuestionResponse toResponse(long id, QuestionRequest request) {
+            return new QuestionResponse(id, request.topic(), request.difficultyRankNumber(), request.content(), request.responses());
+        }
+    }
+}
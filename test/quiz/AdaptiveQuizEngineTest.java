@@ -0,0 +1,215 @@
+package quiz;
+
+import main.model.entity.Response;
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionRequest;
+import main.model.entity.dto.QuestionResponse;
+import main.quiz.AdaptiveQuizEngine;
+import org.junit.jupiter.api.Test;
+import util.JdbcStubs;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveQuizEngineTest {
+    private final long userId = 1;
+
+    /**
+     * Creates one question per difficulty 1..10 for the topic, Question-Id = topicOffset + difficulty
+     */
+    private List<QuestionResponse> createQuestions(Topic topic, long topicOffset) {
+        List<QuestionResponse> questions = new ArrayList<>();
+        for (int difficulty = 1; difficulty <= 10; difficulty++) {
+            questions.add(new QuestionResponse(
+                    topicOffset + difficulty,
+                    topic,
+                    difficulty,
+                    "Test" + difficulty,
+                    List.of(new Response("True", true))
+            ));
+        }
+        return questions;
+    }
+
+    private AdaptiveQuizEngine createEngine() {
+        AdaptiveQuizEngine engine = new AdaptiveQuizEngine(Duration.ofMinutes(10), 1.0f);
+        List<QuestionResponse> questions = new ArrayList<>(createQuestions(Topic.ARTS, 0));
+        questions.addAll(createQuestions(Topic.FOOD, 100));
+        engine.load(questions);
+        return engine;
+    }
+
+    @Test
+    void answerCorrectly_ReturnHarderQuestions() {
+        //given
+        AdaptiveQuizEngine engine = createEngine();
+        engine.startSession(userId, Topic.ARTS);
+        long firstQuestion = engine.nextQuestion(userId).getAsLong();
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            engine.recordAnswer(userId, true);
+            engine.nextQuestion(userId);
+        }
+        engine.recordAnswer(userId, true);
+        long laterQuestion = engine.nextQuestion(userId).getAsLong();
+
+        //then
+        assertTrue(laterQuestion > firstQuestion);
+    }
+
+    @Test
+    void answerWrong_ReturnEasierQuestions() {
+        //given
+        AdaptiveQuizEngine engine = createEngine();
+        engine.startSession(userId, Topic.ARTS);
+        engine.nextQuestion(userId);
+        double initialSkill = engine.skillOf(userId);
+
+        //when
+        engine.recordAnswer(userId, false);
+
+        //then
+        assertTrue(engine.skillOf(userId) < initialSkill);
+    }
+
+    @Test
+    void nextQuestionForWholeTopic_ReturnEveryQuestionOfTopicOnce() {
+        //given
+        AdaptiveQuizEngine engine = createEngine();
+        engine.startSession(userId, Topic.FOOD);
+
+        //when
+        Set<Long> servedIds = new HashSet<>();
+        OptionalLong next;
+        while ((next = engine.nextQuestion(userId)).isPresent()) {
+            assertTrue(servedIds.add(next.getAsLong()));
+            engine.recordAnswer(userId, servedIds.size() % 2 == 0);
+        }
+
+        //then
+        assertEquals(10, servedIds.size());
+        assertTrue(servedIds.stream().allMatch(id -> id > 100));
+    }
+
+    @Test
+    void saveAndDeleteManyQuestions_ReturnEveryRemainingQuestionOnce() {
+        //given more Questions than fit into one chunk of the index
+        AdaptiveQuizEngine engine = new AdaptiveQuizEngine(Duration.ofMinutes(10), 1.0f);
+        Set<Long> remaining = new HashSet<>();
+        for (long id = 1; id <= 3_000; id++) {
+            int difficulty = (int) (id * 7 % 10) + 1;
+            engine.questionSaved(id, new QuestionRequest(Topic.CULTURE, difficulty, "Test", List.of()));
+            remaining.add(id);
+        }
+
+        //when
+        for (long id = 3; id <= 3_000; id += 3) {
+            int difficulty = (int) (id * 7 % 10) + 1;
+            engine.questionDeleted(new QuestionResponse(id, Topic.CULTURE, difficulty, "Test", List.of()));
+            remaining.remove(id);
+        }
+
+        //then
+        engine.startSession(userId, Topic.CULTURE);
+        Set<Long> served = new HashSet<>();
+        OptionalLong next;
+        while ((next = engine.nextQuestion(userId)).isPresent()) {
+            assertTrue(served.add(next.getAsLong()));
+        }
+        assertEquals(remaining, served);
+    }
+
+    @Test
+    void evictIdleSessions_ReturnNoSessionLeft() throws InterruptedException {
+        //given
+        AdaptiveQuizEngine engine = new AdaptiveQuizEngine(Duration.ofMillis(1));
+        engine.startSession(userId, Topic.ARTS);
+        Thread.sleep(5);
+
+        //when
+        int evicted = engine.evictIdleSessions();
+
+        //then
+        assertEquals(1, evicted);
+        assertEquals(0, engine.sessionCount());
+        assertTrue(engine.nextQuestion(userId).isEmpty());
+    }
+
+    /**
+     * Creates a Connection stand-in answering the reconcile query with the rows, running onRead once after the first row.
+     */
+    private Connection createReconciliationConnection(List<QuestionResponse> rows, Runnable onRead) {
+        List<Map<String, Object>> columns = new ArrayList<>();
+        for (QuestionResponse question : rows) {
+            columns.add(Map.of("id", question.id(), "difficulty", question.difficultyRankNumber(), "topic", question.topic().name()));
+        }
+        JdbcStubs.StubResultSet resultSet = new JdbcStubs.StubResultSet(columns) {
+            @Override
+            public boolean next() throws SQLException {
+                if (row() == 0) onRead.run();
+                return super.next();
+            }
+        };
+        return new JdbcStubs.StubConnection(true, sql -> new JdbcStubs.StubStatement(() -> resultSet));
+    }
+
+    @Test
+    void saveQuestionDuringReconcile_ReturnSavedQuestionAfterReconcile() throws SQLException {
+        //given the Database read misses a Question saved while reconciling
+        AdaptiveQuizEngine engine = new AdaptiveQuizEngine(Duration.ofMinutes(10), 1.0f);
+        List<QuestionResponse> committed = createQuestions(Topic.ARTS, 0);
+        Runnable saveDuringRead = () -> engine.questionSaved(50, new QuestionRequest(Topic.ARTS, 5, "Test", List.of()));
+
+        //when
+        engine.reconcile(createReconciliationConnection(committed, saveDuringRead));
+
+        //then
+        engine.startSession(userId, Topic.ARTS);
+        Set<Long> served = new HashSet<>();
+        OptionalLong next;
+        while ((next = engine.nextQuestion(userId)).isPresent()) {
+            served.add(next.getAsLong());
+        }
+        assertEquals(11, served.size());
+        assertTrue(served.contains(50L));
+    }
+
+    @Test
+    void startAndEndManySessions_ReturnRemainingSessionsIntact() {
+        //given sessions spread over every session table, each growing and shrinking
+        AdaptiveQuizEngine engine = createEngine();
+        for (long user = 0; user < 20_000; user++) {
+            engine.startSession(user, user % 2 == 0 ? Topic.ARTS : Topic.FOOD);
+        }
+
+        //when
+        for (long user = 0; user < 20_000; user += 3) {
+            engine.endSession(user);
+        }
+        for (long user = 1; user < 20_000; user += 3) {
+            engine.nextQuestion(user);
+        }
+
+        //then
+        assertEquals(20_000 - 6_667, engine.sessionCount());
+        for (long user = 0; user < 20_000; user++) {
+            OptionalLong next = engine.nextQuestion(user);
+            if (user % 3 == 0) {
+                assertTrue(next.isEmpty());
+            } else {
+                long topicOffset = user % 2 == 0 ? 0 : 100;
+                assertTrue(next.getAsLong() > topicOffset && next.getAsLong() <= topicOffset + 10);
+            }
+        }
+    }
+}
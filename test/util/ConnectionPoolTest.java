@@ -0,0 +1,120 @@
+package util;
+
+import main.util.ConnectionPool;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+    private final AtomicInteger opened = new AtomicInteger();
+    private final List<JdbcStubs.StubConnection> connections = new ArrayList<>();
+
+    private JdbcStubs.StubConnection openConnection() {
+        opened.incrementAndGet();
+        JdbcStubs.StubConnection connection = new JdbcStubs.StubConnection();
+        synchronized (connections) {
+            connections.add(connection);
+        }
+        return connection;
+    }
+
+    @Test
+    void borrowFilledConnections_ReturnIdleConnectionsBeforeOpeningNewOnes() throws SQLException {
+        //given
+        ConnectionPool pool = new ConnectionPool(this::openConnection);
+        pool.fill(2);
+
+        //when
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+        assertEquals(2, opened.get());
+        Connection third = pool.borrow();
+
+        //then
+        assertNotSame(first, second);
+        assertEquals(3, opened.get());
+        assertEquals(3, pool.openCount());
+        assertEquals(0, pool.idleCount());
+
+        pool.release(third);
+        assertSame(third, pool.borrow());
+        assertEquals(3, opened.get());
+    }
+
+    @Test
+    void fillTwice_OpenOnlyMissingConnections() throws SQLException {
+        //given
+        ConnectionPool pool = new ConnectionPool(this::openConnection);
+        pool.fill(2);
+
+        //when
+        pool.fill(3);
+
+        //then
+        assertEquals(3, opened.get());
+        assertEquals(3, pool.idleCount());
+    }
+
+    @Test
+    void fillOnExecutor_OpenConnectionsOnExecutorThreads() throws SQLException {
+        //given
+        List<String> threadNames = new ArrayList<>();
+        ConnectionPool pool = new ConnectionPool(() -> {
+            synchronized (threadNames) {
+                threadNames.add(Thread.currentThread().getName());
+            }
+            return openConnection();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> new Thread(runnable, "test-fill"));
+
+        //when
+        try {
+            pool.fill(3, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        //then
+        assertEquals(3, pool.idleCount());
+        assertEquals(List.of("test-fill", "test-fill", "test-fill"), threadNames);
+    }
+
+    @Test
+    void fillWithFailingConnection_KeepOpenedConnectionsAndThrow() {
+        //given
+        AtomicInteger attempts = new AtomicInteger();
+        ConnectionPool pool = new ConnectionPool(() -> {
+            if (attempts.incrementAndGet() == 1) throw new SQLException("Connection refused");
+            return openConnection();
+        });
+
+        //then
+        assertThrows(SQLException.class, () -> pool.fill(3));
+        assertEquals(2, pool.idleCount());
+        assertEquals(2, pool.openCount());
+    }
+
+    @Test
+    void close_CloseIdleConnections() throws SQLException {
+        //given
+        ConnectionPool pool = new ConnectionPool(this::openConnection);
+        pool.fill(2);
+        Connection borrowed = pool.borrow();
+
+        //when
+        pool.close();
+
+        //then
+        assertEquals(1, connections.stream().filter(JdbcStubs.StubConnection::isClosed).count());
+        assertFalse(borrowed.isClosed());
+        assertEquals(1, pool.openCount());
+    }
+}
@@ -0,0 +1,136 @@
+package util;
+
+import main.util.ConnectionRouter;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionRouterTest {
+
+    @Test
+    void acquireReadWithoutReplicas_ReturnPrimary() {
+        //given
+        Connection primary = new JdbcStubs.StubConnection(true);
+        ConnectionRouter router = ConnectionRouter.primaryOnly(primary);
+
+        //when
+        Connection readConnection = router.acquireRead();
+
+        //then
+        assertSame(primary, readConnection);
+    }
+
+    @Test
+    void acquireReadRoundRobin_ReturnReplicasInTurn() {
+        //given
+        Connection primary = new JdbcStubs.StubConnection(true);
+        Connection replica1 = new JdbcStubs.StubConnection(true);
+        Connection replica2 = new JdbcStubs.StubConnection(true);
+        ConnectionRouter router = new ConnectionRouter(primary, List.of(replica1, replica2), ConnectionRouter.Strategy.ROUND_ROBIN, 0);
+
+        //when
+        Connection first = router.acquireRead();
+        router.releaseRead(first);
+        Connection second = router.acquireRead();
+        router.releaseRead(second);
+        Connection third = router.acquireRead();
+        router.releaseRead(third);
+
+        //then
+        assertSame(replica1, first);
+        assertSame(replica2, second);
+        assertSame(replica1, third);
+    }
+
+    @Test
+    void acquireReadLeastLoaded_ReturnReplicaWithFewestReads() {
+        //given
+        Connection primary = new JdbcStubs.StubConnection(true);
+        Connection replica1 = new JdbcStubs.StubConnection(true);
+        Connection replica2 = new JdbcStubs.StubConnection(true);
+        ConnectionRouter router = new ConnectionRouter(primary, List.of(replica1, replica2), ConnectionRouter.Strategy.LEAST_LOADED, 0);
+
+        //when
+        Connection busy = router.acquireRead();
+        Connection next = router.acquireRead();
+
+        //then
+        assertNotSame(busy, next);
+        assertEquals(1, router.inFlightReads(0));
+        assertEquals(1, router.inFlightReads(1));
+
+        router.releaseRead(busy);
+        router.releaseRead(next);
+        assertEquals(0, router.inFlightReads(0) + router.inFlightReads(1));
+    }
+
+    @Test
+    void acquireReadWithinTransactionWithoutWrite_ReturnReplica() {
+        //given
+        Connection primary = new JdbcStubs.StubConnection(false);
+        Connection replica = new JdbcStubs.StubConnection(true);
+        ConnectionRouter router = new ConnectionRouter(primary, List.of(replica), ConnectionRouter.Strategy.ROUND_ROBIN, 0);
+
+        //when
+        Connection readConnection = router.acquireRead();
+
+        //then
+        assertSame(replica, readConnection);
+    }
+
+    @Test
+    void acquireReadAfterWriteInTransaction_ReturnPrimaryUntilTransactionEnds() throws SQLException {
+        //given
+        Connection primary = new JdbcStubs.StubConnection(false);
+        Connection replica = new JdbcStubs.StubConnection(true);
+        ConnectionRouter router = new ConnectionRouter(primary, List.of(replica), ConnectionRouter.Strategy.ROUND_ROBIN, 0);
+
+        //when
+        router.markWritten();
+
+        //then
+        assertSame(router.primary(), router.acquireRead());
+        router.primary().rollback();
+        assertSame(replica, router.acquireRead());
+
+        router.markWritten();
+        assertSame(router.primary(), router.acquireRead());
+        router.primary().commit();
+        assertSame(replica, router.acquireRead());
+    }
+
+    @Test
+    void acquireReadAfterWrite_ReturnPrimaryWithinReadYourWritesWindow() {
+        //given
+        Connection primary = new JdbcStubs.StubConnection(true);
+        Connection replica = new JdbcStubs.StubConnection(true);
+        ConnectionRouter router = new ConnectionRouter(primary, List.of(replica), ConnectionRouter.Strategy.ROUND_ROBIN, 60_000);
+        assertSame(replica, router.acquireRead());
+
+        //when
+        router.markWritten();
+
+        //then
+        assertSame(router.primary(), router.acquireRead());
+    }
+
+    @Test
+    void acquireReadAfterWriteOfOtherThread_ReturnReplica() throws InterruptedException {
+        //given
+        Connection primary = new JdbcStubs.StubConnection(true);
+        Connection replica = new JdbcStubs.StubConnection(true);
+        ConnectionRouter router = new ConnectionRouter(primary, List.of(replica), ConnectionRouter.Strategy.ROUND_ROBIN, 60_000);
+
+        //when
+        Thread writer = new Thread(router::markWritten);
+        writer.start();
+        writer.join();
+
+        //then
+        assertSame(replica, router.acquireRead());
+    }
+}
@@ -0,0 +1,71 @@
+package util;
+
+import main.util.IdempotencyKeyStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyKeyStoreTest {
+
+    @Test
+    void executeOnceWithSameKey_ReturnOriginalIdWithoutSecondWrite() {
+        //given
+        IdempotencyKeyStore store = new IdempotencyKeyStore(10, Duration.ofMinutes(1));
+        AtomicInteger writes = new AtomicInteger();
+
+        //when
+        Long firstId = store.executeOnce("key", () -> (long) writes.incrementAndGet());
+        Long retryId = store.executeOnce("key", () -> (long) writes.incrementAndGet());
+
+        //then
+        assertEquals(1L, (long) firstId);
+        assertEquals(1L, (long) retryId);
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void executeOnceAfterFailedWrite_ReturnIdOfRetriedWrite() {
+        //given
+        IdempotencyKeyStore store = new IdempotencyKeyStore(10, Duration.ofMinutes(1));
+
+        //when
+        Long failedId = store.executeOnce("key", () -> null);
+        Long retryId = store.executeOnce("key", () -> 2L);
+
+        //then
+        assertNull(failedId);
+        assertEquals(2L, (long) retryId);
+    }
+
+    @Test
+    void executeOnceAfterExpiry_ReturnIdOfNewWrite() throws InterruptedException {
+        //given
+        IdempotencyKeyStore store = new IdempotencyKeyStore(10, Duration.ofMillis(1));
+        store.executeOnce("key", () -> 1L);
+        Thread.sleep(5);
+
+        //when
+        Long retryId = store.executeOnce("key", () -> 2L);
+
+        //then
+        assertEquals(2L, (long) retryId);
+    }
+
+    @Test
+    void executeOnceBeyondMaxKeys_ReturnStoreBoundedToMaxKeys() {
+        //given
+        IdempotencyKeyStore store = new IdempotencyKeyStore(2, Duration.ofMinutes(1));
+
+        //when
+        store.executeOnce("key1", () -> 1L);
+        store.executeOnce("key2", () -> 2L);
+        store.executeOnce("key3", () -> 3L);
+
+        //then
+        assertEquals(2, store.size());
+        assertEquals(4L, (long) store.executeOnce("key1", () -> 4L));
+    }
+}
@@ -0,0 +1,261 @@
+package util;
+
+import main.model.entity.Topic;
+import main.util.DelegatingConnection;
+import main.util.DelegatingPreparedStatement;
+import main.util.DelegatingResultSet;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Connection, statement and result set stand-ins, so repositories and utilities are tested without a Database.
+ * Built on the Delegating* classes without a delegate: the stand-ins override the calls the code under test makes,
+ * any other call fails with a NullPointerException. Tests override further calls in an anonymous subclass.
+ */
+public final class JdbcStubs {
+
+    private JdbcStubs() { }
+
+    /**
+     * Connection keeping its autoCommit and closed state, commit and rollback do nothing.
+     * Statements are created by the specified factory per SQL.
+     */
+    public static class StubConnection extends DelegatingConnection {
+        private final Function<String, PreparedStatement> statements;
+        private final AtomicInteger preparedCount = new AtomicInteger();
+        private volatile boolean autoCommit;
+        private volatile boolean closed;
+
+        /**
+         * Creates a Connection in autoCommit mode without statements.
+         */
+        public StubConnection() {
+            this(true);
+        }
+
+        public StubConnection(boolean autoCommit) {
+            this(autoCommit, sql -> {
+                throw new UnsupportedOperationException("No statement stubbed for: " + sql);
+            });
+        }
+
+        public StubConnection(boolean autoCommit, Function<String, PreparedStatement> statements) {
+            super(null);
+            this.autoCommit = autoCommit;
+            this.statements = statements;
+        }
+
+        /**
+         * @return Amount of statements prepared on this connection
+         */
+        public int preparedCount() {
+            return preparedCount.get();
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql) {
+            preparedCount.incrementAndGet();
+            return statements.apply(sql);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) {
+            return prepareStatement(sql);
+        }
+
+        @Override
+        public boolean getAutoCommit() {
+            return autoCommit;
+        }
+
+        @Override
+        public void setAutoCommit(boolean autoCommit) {
+            this.autoCommit = autoCommit;
+        }
+
+        @Override
+        public void commit() { }
+
+        @Override
+        public void rollback() { }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+    }
+
+    /**
+     * PreparedStatement keeping its bound parameters and fetch size.
+     * Queries return the ResultSet of the specified supplier, updates report one affected row.
+     */
+    public static class StubStatement extends DelegatingPreparedStatement {
+        private final Supplier<ResultSet> results;
+        private final Map<Integer, Object> parameters = new HashMap<>();
+        private int fetchSize;
+        private boolean closed;
+
+        public StubStatement(Supplier<ResultSet> results) {
+            super(null);
+            this.results = results;
+        }
+
+        /**
+         * @return Value bound to the parameter or null if none was bound
+         */
+        public Object parameter(int parameterIndex) {
+            return parameters.get(parameterIndex);
+        }
+
+        @Override
+        public ResultSet executeQuery() throws SQLException {
+            return results.get();
+        }
+
+        @Override
+        public int executeUpdate() throws SQLException {
+            return 1;
+        }
+
+        @Override
+        public void setInt(int parameterIndex, int x) {
+            parameters.put(parameterIndex, x);
+        }
+
+        @Override
+        public void setLong(int parameterIndex, long x) {
+            parameters.put(parameterIndex, x);
+        }
+
+        @Override
+        public void setBoolean(int parameterIndex, boolean x) {
+            parameters.put(parameterIndex, x);
+        }
+
+        @Override
+        public void setString(int parameterIndex, String x) {
+            parameters.put(parameterIndex, x);
+        }
+
+        @Override
+        public void setObject(int parameterIndex, Object x) {
+            parameters.put(parameterIndex, x);
+        }
+
+        @Override
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        @Override
+        public void setFetchSize(int rows) {
+            fetchSize = rows;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+    }
+
+    /**
+     * ResultSet over rows of column label to value.
+     */
+    public static class StubResultSet extends DelegatingResultSet {
+        private final List<Map<String, Object>> rows;
+        private int row = -1;
+        private boolean closed;
+
+        public StubResultSet(List<Map<String, Object>> rows) {
+            super(null);
+            this.rows = List.copyOf(rows);
+        }
+
+        /**
+         * @return Position of the current row, -1 before the first next()
+         */
+        public int row() {
+            return row;
+        }
+
+        @Override
+        public boolean next() throws SQLException {
+            if (row < rows.size()) row++;
+            return row < rows.size();
+        }
+
+        @Override
+        public String getString(String columnLabel) {
+            return (String) value(columnLabel);
+        }
+
+        @Override
+        public int getInt(String columnLabel) {
+            return ((Number) value(columnLabel)).intValue();
+        }
+
+        @Override
+        public long getLong(String columnLabel) {
+            return ((Number) value(columnLabel)).longValue();
+        }
+
+        @Override
+        public boolean getBoolean(String columnLabel) {
+            return (Boolean) value(columnLabel);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        private Object value(String columnLabel) {
+            Map<String, Object> current = rows.get(row);
+            if (!current.containsKey(columnLabel)) throw new IllegalArgumentException("No column " + columnLabel);
+            return current.get(columnLabel);
+        }
+    }
+
+    /**
+     * @return Rows of the topic table as read by DaoTopic: ARTS 1, CULTURE 2, FOOD 3
+     */
+    public static StubResultSet topicRows() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        Topic[] topics = {Topic.ARTS, Topic.CULTURE, Topic.FOOD};
+        for (int i = 0; i < topics.length; i++) {
+            rows.add(Map.of("topicName", topics[i].name(), "topic_id", i + 1));
+        }
+        return new StubResultSet(rows);
+    }
+
+    /**
+     * @return Connection in autoCommit mode answering every query with topicRows()
+     */
+    public static StubConnection topicConnection() {
+        return new StubConnection(true, sql -> new StubStatement(JdbcStubs::topicRows));
+    }
+}
@@ -0,0 +1,92 @@
+package util;
+
+import main.model.entity.Response;
+import main.model.entity.Topic;
+import main.model.entity.dto.QuestionRequest;
+import main.model.repository.DaoQuestion;
+import main.model.repository.DaoResponse;
+import main.model.repository.DaoTopic;
+import main.model.repository.QuestionStatistics;
+import main.quiz.AdaptiveQuizEngine;
+import main.util.DatabaseConnector;
+import main.util.QueryPlanVerifier;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fails when a DAO statement stops using indexes.
+ * Requires the schema with add_covering_indexes.sql and add_idempotency_key.sql applied.
+ */
+class QueryPlanVerifierTest {
+
+    /**
+     * Statements reading every Question by design (full retrieval, reconciliation and preloading).
+     * Listed verbatim, so any other statement scanning a table is reported.
+     */
+    private static final Set<String> FULL_SCANS = Set.of(
+            //DaoQuestion.retrieveQuestions()
+            "SELECT q.id as question_id, q.difficultyRankNumber as difficulty, q.content, t.topicName as topic, r.id as response_id, r.text, r.correct FROM question_response qr JOIN question q ON question_id = q.id JOIN response r ON response_id = r.id JOIN topic t ON topic_id = t.id ",
+            //QuestionStatistics.reconcile()
+            "SELECT t.topicName AS topic, q.difficultyRankNumber AS difficulty, COUNT(*) AS amount FROM question q JOIN topic t ON q.topic_id = t.id GROUP BY t.topicName, q.difficultyRankNumber",
+            "SELECT response_amount, COUNT(*) AS amount FROM (SELECT q.id, COUNT(qr.response_id) AS response_amount FROM question q LEFT JOIN question_response qr ON qr.question_id = q.id GROUP BY q.id) per_question GROUP BY response_amount",
+            "SELECT r.correct, COUNT(*) AS amount FROM question_response qr JOIN response r ON qr.response_id = r.id GROUP BY r.correct",
+            //DaoTopic.preloadTopicIds()
+            "SELECT id AS topic_id, topicName FROM topic",
+            //AdaptiveQuizEngine.reconcile(...)
+            "SELECT q.id, t.topicName AS topic, q.difficultyRankNumber AS difficulty FROM question q JOIN topic t ON q.topic_id = t.id"
+    );
+
+    @Test
+    void explainAllDaoStatements_ReturnNoPlanRegression() throws SQLException {
+        //given
+        Connection connection = DatabaseConnector.getConnection();
+        connection.setAutoCommit(false);
+        QueryPlanVerifier verifier = new QueryPlanVerifier();
+        Connection recordingConnection = verifier.record(connection);
+
+        DaoTopic daoTopic = new DaoTopic(recordingConnection);
+        DaoResponse daoResponse = new DaoResponse(recordingConnection);
+        DaoQuestion daoQuestion = new DaoQuestion(recordingConnection, daoTopic, daoResponse);
+
+        try {
+            //when
+            //Reconciliation ends the open transaction first, so it runs before anything is written
+            new QuestionStatistics(recordingConnection).reconcile();
+            new AdaptiveQuizEngine(Duration.ofMinutes(1)).reconcile(recordingConnection);
+            //Preload on another DaoTopic, the DAOs under test have to look up their Topic-Ids
+            new DaoTopic(recordingConnection).preloadTopicIds();
+
+            daoTopic.createTopics(Topic.values());
+            QuestionRequest request = new QuestionRequest(Topic.ARTS, 5, "Test", List.of(new Response("Plan Response", true)));
+            QuestionRequest keyedRequest = new QuestionRequest(Topic.ARTS, 5, "Keyed", List.of(new Response("Plan Response", true)), "plan-key");
+            Long questionId = daoQuestion.saveQuestion(request);
+            daoQuestion.saveQuestion(keyedRequest);
+            daoQuestion.saveQuestions(List.of(request, keyedRequest));
+            daoQuestion.retrieveQuestions();
+            daoQuestion.searchQuestionByTopic(Topic.ARTS);
+            daoQuestion.findQuestionById(questionId);
+            daoQuestion.updateQuestionById(questionId, new QuestionRequest(Topic.FOOD, 2, "Other", List.of(new Response("Other Response", false))));
+            daoQuestion.deleteQuestionById(questionId);
+
+            List<QueryPlanVerifier.PlanIssue> issues = verifier.verify(connection);
+
+            //then
+            Set<String> recordedSql = verifier.recordedStatements().stream().map(QueryPlanVerifier.RecordedStatement::sql).collect(Collectors.toSet());
+            assertTrue(recordedSql.contains("SELECT id AS topic_id FROM topic WHERE topicName = ?"), "Topic lookup not executed");
+            assertTrue(recordedSql.contains("SELECT id FROM question WHERE idempotency_key = ?"), "Idempotency key lookup not executed");
+            issues.removeIf(issue -> FULL_SCANS.contains(issue.sql()));
+            assertTrue(issues.isEmpty(), "Query plan regression: " + issues);
+        } finally {
+            connection.rollback();
+            connection.close();
+        }
+    }
+}
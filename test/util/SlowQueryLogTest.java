@@ -0,0 +1,209 @@
+package util;
+
+import main.util.SlowQueryLog;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogTest {
+    //0: rows are transferred within executeQuery, as by default
+    private int fetchSize = 0;
+
+    /**
+     * Creates a Connection stand-in whose statements take as many milliseconds as their first parameter.
+     * Queries return two rows, updates report one affected row.
+     * With a fetch size set, each row takes another millisecond to fetch.
+     */
+    private Connection createConnection() {
+        return new JdbcStubs.StubConnection(true, sql -> createStatement());
+    }
+
+    private PreparedStatement createStatement() {
+        long fetchMillisPerRow = fetchSize == 0 ? 0 : 1;
+        JdbcStubs.StubStatement statement = new JdbcStubs.StubStatement(() -> createResultSet(fetchMillisPerRow)) {
+            @Override
+            public ResultSet executeQuery() throws SQLException {
+                sleep(delayMillis());
+                return super.executeQuery();
+            }
+
+            @Override
+            public int executeUpdate() throws SQLException {
+                sleep(delayMillis());
+                return super.executeUpdate();
+            }
+
+            private long delayMillis() {
+                Object delay = parameter(1);
+                return delay == null ? 0 : (Long) delay;
+            }
+        };
+        statement.setFetchSize(fetchSize);
+        return statement;
+    }
+
+    private ResultSet createResultSet(long fetchMillisPerRow) {
+        return new JdbcStubs.StubResultSet(List.of(Map.of("id", 1L), Map.of("id", 2L))) {
+            @Override
+            public boolean next() throws SQLException {
+                sleep(fetchMillisPerRow);
+                return super.next();
+            }
+        };
+    }
+
+    private static void sleep(long millis) throws SQLException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    private void executeUpdate(Connection connection, String sql, long delayMillis) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        statement.setLong(1, delayMillis);
+        statement.executeUpdate();
+        statement.close();
+    }
+
+    @Test
+    void executeSlowUpdate_ReturnStatementWithParametersAndRows() throws SQLException {
+        //given
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofMillis(20), 5);
+        Connection connection = slowQueryLog.wrap(createConnection());
+
+        //when
+        executeUpdate(connection, "UPDATE question SET content = ? WHERE id = ?", 30);
+
+        //then
+        List<SlowQueryLog.SlowStatement> slowest = slowQueryLog.slowestStatements();
+        assertEquals(1, slowest.size());
+        assertEquals("UPDATE question SET content = ? WHERE id = ?", slowest.get(0).sql());
+        assertEquals("[30]", slowest.get(0).parameters());
+        assertEquals(1, slowest.get(0).rows());
+        assertTrue(slowest.get(0).duration().toMillis() >= 30);
+    }
+
+    @Test
+    void executeQuery_ReturnRowCountAfterResultSetIsExhausted() throws SQLException {
+        //given
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ZERO, 5);
+        Connection connection = slowQueryLog.wrap(createConnection());
+        PreparedStatement statement = connection.prepareStatement("SELECT id FROM question WHERE id = ?");
+        statement.setLong(1, 1);
+
+        //when
+        ResultSet rs = statement.executeQuery();
+        assertTrue(slowQueryLog.slowestStatements().isEmpty());
+        while (rs.next()) { }
+
+        //then
+        assertEquals(2, slowQueryLog.slowestStatements().get(0).rows());
+    }
+
+    @Test
+    void executeMoreStatementsThanCapacity_ReturnOnlySlowestInDescendingOrder() throws SQLException {
+        //given
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofSeconds(10), 2);
+        Connection connection = slowQueryLog.wrap(createConnection());
+
+        //when
+        executeUpdate(connection, "UPDATE 1", 1);
+        executeUpdate(connection, "UPDATE 2", 15);
+        executeUpdate(connection, "UPDATE 3", 5);
+        executeUpdate(connection, "UPDATE 4", 30);
+
+        //then
+        List<SlowQueryLog.SlowStatement> slowest = slowQueryLog.slowestStatements();
+        assertEquals(2, slowest.size());
+        assertEquals("UPDATE 4", slowest.get(0).sql());
+        assertEquals("UPDATE 2", slowest.get(1).sql());
+    }
+
+    @Test
+    void executeQueryWithOpenResultSetDuringOtherStatement_ReturnOnlyQueryExecutionTime() throws SQLException {
+        //given
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ZERO, 5);
+        Connection connection = slowQueryLog.wrap(createConnection());
+        PreparedStatement query = connection.prepareStatement("SELECT id FROM question WHERE id = ?");
+        query.setLong(1, 1);
+
+        //when
+        ResultSet rs = query.executeQuery();
+        rs.next();
+        executeUpdate(connection, "UPDATE 1", 300);
+        rs.close();
+
+        //then
+        SlowQueryLog.SlowStatement slowestQuery = slowQueryLog.slowestStatements().stream()
+                .filter(statement -> statement.sql().startsWith("SELECT"))
+                .findFirst()
+                .get();
+        assertTrue(slowestQuery.duration().toMillis() < 300, "Query blamed for other statement: " + slowestQuery);
+        assertEquals(1, slowestQuery.rows());
+    }
+
+    @Test
+    void executeQueryWithFetchSize_ReturnFetchTimeOfRows() throws SQLException {
+        //given
+        fetchSize = 1;
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ZERO, 5);
+        Connection connection = slowQueryLog.wrap(createConnection());
+        PreparedStatement query = connection.prepareStatement("SELECT id FROM question WHERE id = ?");
+        query.setLong(1, 0);
+
+        //when
+        ResultSet rs = query.executeQuery();
+        while (rs.next()) { }
+
+        //then
+        SlowQueryLog.SlowStatement statement = slowQueryLog.slowestStatements().get(0);
+        assertTrue(statement.fetchDuration().toMillis() >= 3, "Fetch time of 3 next() calls missing: " + statement);
+        assertTrue(statement.duration().compareTo(statement.fetchDuration()) >= 0);
+    }
+
+    @Test
+    void executeUpdateWithOpenResultSetOfSameStatement_ReturnQueryRecordedFirst() throws SQLException {
+        //given
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ZERO, 5);
+        Connection connection = slowQueryLog.wrap(createConnection());
+        PreparedStatement statement = connection.prepareStatement("SELECT id FROM question WHERE id = ?");
+        statement.setLong(1, 1);
+        ResultSet rs = statement.executeQuery();
+        rs.next();
+
+        //when re-executed without closing the ResultSet
+        statement.executeUpdate();
+
+        //then
+        List<SlowQueryLog.SlowStatement> slowest = slowQueryLog.slowestStatements();
+        assertEquals(2, slowest.size());
+        assertTrue(slowest.stream().anyMatch(recorded -> recorded.rows() == 1 && recorded.fetchNanos() == 0));
+    }
+
+    @Test
+    void executeAfterTwoWindows_ReturnOnlyStatementsOfRecentWindows() throws SQLException, InterruptedException {
+        //given
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofSeconds(10), 1, Duration.ofMillis(100));
+        Connection connection = slowQueryLog.wrap(createConnection());
+        executeUpdate(connection, "UPDATE 1", 30);
+
+        //when
+        Thread.sleep(250);
+        executeUpdate(connection, "UPDATE 2", 1);
+
+        //then the faster statement enters the emptied top-N
+        List<SlowQueryLog.SlowStatement> slowest = slowQueryLog.slowestStatements();
+        assertEquals(1, slowest.size());
+        assertEquals("UPDATE 2", slowest.get(0).sql());
+    }
+}
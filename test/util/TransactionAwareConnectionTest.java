@@ -0,0 +1,74 @@
+package util;
+
+import main.util.TransactionAwareConnection;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionAwareConnectionTest {
+
+    @Test
+    void afterCommitInAutoCommitMode_RunImmediately() throws SQLException {
+        //given
+        TransactionAwareConnection connection = new TransactionAwareConnection(new JdbcStubs.StubConnection(true));
+        List<String> actions = new ArrayList<>();
+
+        //when
+        connection.afterCommit(() -> actions.add("committed"));
+
+        //then
+        assertEquals(List.of("committed"), actions);
+    }
+
+    @Test
+    void afterCommitWithinTransaction_RunOnlyOnCommit() throws SQLException {
+        //given
+        TransactionAwareConnection connection = new TransactionAwareConnection(new JdbcStubs.StubConnection(false));
+        List<String> actions = new ArrayList<>();
+
+        //when
+        connection.afterCommit(() -> actions.add("committed"));
+        connection.afterRollback(() -> actions.add("rolled back"));
+        assertTrue(actions.isEmpty());
+        connection.commit();
+
+        //then
+        assertEquals(List.of("committed"), actions);
+        connection.commit();
+        assertEquals(1, actions.size());
+    }
+
+    @Test
+    void afterCommitWithinRolledBackTransaction_DropAction() throws SQLException {
+        //given
+        TransactionAwareConnection connection = new TransactionAwareConnection(new JdbcStubs.StubConnection(false));
+        List<String> actions = new ArrayList<>();
+
+        //when
+        connection.afterCommit(() -> actions.add("committed"));
+        connection.afterRollback(() -> actions.add("rolled back"));
+        connection.rollback();
+        connection.commit();
+
+        //then
+        assertEquals(List.of("rolled back"), actions);
+    }
+
+    @Test
+    void enableAutoCommitWithinTransaction_RunCommitActions() throws SQLException {
+        //given
+        TransactionAwareConnection connection = new TransactionAwareConnection(new JdbcStubs.StubConnection(false));
+        List<String> actions = new ArrayList<>();
+        connection.afterCommit(() -> actions.add("committed"));
+
+        //when
+        connection.setAutoCommit(true);
+
+        //then
+        assertEquals(List.of("committed"), actions);
+    }
+}